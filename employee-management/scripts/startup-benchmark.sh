@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Compares cold start of the plain jar (prod profile) with the fast-startup build (AOT + CDS + lazy init).
+# Reports time from JVM launch to the first successful GET /api/employees, and resident memory after that request.
+#
+#   mvn -P fast-startup -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Both modes use an in-memory H2 database by default so they can be compared without MySQL; set DB_ARGS="" (or
+# point it at another database) to benchmark against the real prod datasource.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18081}"
+JAR="$(ls target/employee-management-*.jar | grep -v '\.original$' | head -n 1)"
+CDS_DIR="target/cds"
+CDS_JAR="$CDS_DIR/$(basename "$JAR")"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+DB_ARGS="${DB_ARGS---spring.datasource.url=jdbc:h2:mem:startup-bench --spring.jpa.hibernate.ddl-auto=create}"
+
+if [[ ! -f "$CDS_DIR/application.jsa" ]]; then
+    echo "No CDS archive in $CDS_DIR; build with: mvn -P fast-startup -DskipTests package" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+}
+
+# prints "<ms to first request> <rss in MB>"
+measure() {
+    local log
+    log="$(mktemp)"
+    local start
+    start="$(now_ms)"
+    "$@" --server.port="$PORT" $DB_ARGS >"$log" 2>&1 &
+    local pid=$!
+    local deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+    until [[ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/employees" || true)" == "200" ]]; do
+        if ! kill -0 "$pid" 2>/dev/null || (( $(now_ms) > deadline )); then
+            echo "Application did not answer, log: $log" >&2
+            kill "$pid" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    local rss
+    rss="$(rss_kb "$pid")"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+    echo "$elapsed $(( rss / 1024 ))"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+report() {
+    local name="$1"
+    shift
+    local times=() rss=()
+    for ((i = 1; i <= RUNS; i++)); do
+        read -r t r < <(measure "$@")
+        times+=("$t")
+        rss+=("$r")
+        echo "  $name run $i: ${t} ms, ${r} MB" >&2
+    done
+    printf '%-10s first request %6s ms   rss %5s MB   (median of %d)\n' "$name" \
+        "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${rss[@]}" | median)" "$RUNS"
+}
+
+report default java -jar "$JAR" --spring.profiles.active=prod
+report optimized java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$CDS_JAR" --spring.profiles.active=prod,fast-startup
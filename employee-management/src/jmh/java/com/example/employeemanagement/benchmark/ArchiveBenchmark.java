@@ -0,0 +1,86 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.archive.EmployeeArchiver;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Hot-table queries over 1M generated employees, 70% of them inactive, before and after the archiver has moved the
+// inactive ones out. The hot table size for each case is reported next to the scores as the hotTableRows counter.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ArchiveBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean archived;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private long hotTableRows;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HotTable {
+        public long hotTableRows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:archive-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--app.seed.inactive-ratio=0.7",
+                "--app.archive.enabled=false",
+                // measure the table, not the query cache
+                "--app.hibernate-cache.enabled=false",
+                "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        if (archived) {
+            // seeded rows carry no inactive_since, so all of them are past retention
+            context.getBean(EmployeeArchiver.class).archive();
+        }
+        hotTableRows = employeeRepository.count();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> allActive(HotTable hotTable) {
+        hotTable.hotTableRows = hotTableRows;
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeePageDTO firstPage(HotTable hotTable) {
+        hotTable.hotTableRows = hotTableRows;
+        return employeeService.getEmployeesPage(100, null);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> nameSearchOnTable(HotTable hotTable) {
+        hotTable.hotTableRows = hotTableRows;
+        return employeeRepository.searchByName("smith");
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.BulkItemResultDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Creating 10k employees one POST /api/employees at a time versus a single POST /api/employees/bulk. Each call is a
+// single shot; the table keeps growing by 10k rows per call, so every invocation inserts into a non-empty table.
+// orderInserts=true runs the bulk path with hibernate.order_inserts as it was first configured: every flush holds
+// only Employee inserts, so there is nothing to reorder.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class BulkCreateBenchmark {
+
+    @Param({"10000"})
+    public int employees;
+
+    @Param({"false", "true"})
+    public boolean orderInserts;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<EmployeeDTO> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:bulk-create-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.bulk.max-items=" + employees,
+                "--spring.jpa.properties.hibernate.order_inserts=" + orderInserts,
+                "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        batch = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            batch.add(EmployeeDTO.builder()
+                    .name("Employee " + i)
+                    .department("Department " + (i % 12))
+                    .email("employee" + i + "@company.com")
+                    .salary(40000.0 + i)
+                    .status("ACTIVE")
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // one transaction and one change event per employee
+    @Benchmark
+    public int singleCreates() {
+        for (EmployeeDTO employee : batch) {
+            employeeService.createEmployee(employee.toBuilder().build());
+        }
+        return batch.size();
+    }
+
+    @Benchmark
+    public List<BulkItemResultDTO> bulkCreate() {
+        return employeeService.createEmployees(batch);
+    }
+}
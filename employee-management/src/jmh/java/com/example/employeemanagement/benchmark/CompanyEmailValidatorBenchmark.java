@@ -0,0 +1,25 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.validation.CompanyEmailValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompanyEmailValidatorBenchmark {
+
+    @Param({"john.doe@company.com", "john.doe@example.com"})
+    public String email;
+
+    private final CompanyEmailValidator validator = new CompanyEmailValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(email, null);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Listing active employees the original way (findAll() of every entity, filtered and mapped on the heap) versus the
+// DTO projection behind GET /api/employees and the keyset pages behind GET /api/employees/page. Sample mode reports
+// p50/p99 per call; run with -prof gc for the bytes allocated per call:
+// mvn -P benchmarks test-compile exec:exec -Djmh.args="EmployeeListingBenchmark -prof gc -rf json -rff target/jmh-result.json"
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class EmployeeListingBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:listing-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                // measure the table, not the second-level cache
+                "--app.hibernate-cache.enabled=false",
+                "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // getAllEmployees() before the projection: every row becomes a managed entity before INACTIVE ones are dropped
+    @Benchmark
+    public List<EmployeeDTO> findAllAndFilter() {
+        return employeeRepository.findAll().stream()
+                .filter(emp -> emp.getStatus() != null && emp.getStatus().equals("ACTIVE"))
+                .map(emp -> EmployeeDTO.builder()
+                        .id(emp.getId())
+                        .name(emp.getName())
+                        .department(emp.getDepartment())
+                        .email(emp.getEmail())
+                        .salary(emp.getSalary())
+                        .status(emp.getStatus())
+                        .managerId(emp.getManager() != null ? emp.getManager().getId() : null)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> activeProjection() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeePageDTO keysetFirstPage() {
+        return employeeService.getEmployeesPage(PAGE_SIZE, null);
+    }
+
+    // every active employee, one bounded page at a time; returns the number of pages
+    @Benchmark
+    public int keysetAllPages() {
+        int pages = 0;
+        String cursor = null;
+        do {
+            cursor = employeeService.getEmployeesPage(PAGE_SIZE, cursor).getNextCursor();
+            pages++;
+        } while (cursor != null);
+        return pages;
+    }
+}
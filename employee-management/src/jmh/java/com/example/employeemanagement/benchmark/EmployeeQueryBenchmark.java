@@ -0,0 +1,76 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeeQueryResultDTO;
+import com.example.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// "Research, ACTIVE, salary 60k-70k, highest paid first" answered by /api/employees/query versus the current
+// approach of downloading getAllEmployees() and filtering on the client
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class EmployeeQueryBenchmark {
+
+    private static final String DEPARTMENT = "Research";
+    private static final double MIN_SALARY = 60000;
+    private static final double MAX_SALARY = 70000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:query-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeQueryResultDTO indexedQuery() {
+        return employeeService.queryEmployees(EmployeeFilterDTO.builder()
+                .department(DEPARTMENT)
+                .status("ACTIVE")
+                .minSalary(MIN_SALARY)
+                .maxSalary(MAX_SALARY)
+                .sort(EmployeeFilterDTO.SortField.SALARY)
+                .direction(Sort.Direction.DESC)
+                .size(PAGE_SIZE)
+                .build());
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> fullLoadAndFilter() {
+        return employeeService.getAllEmployees().stream()
+                .filter(e -> DEPARTMENT.equals(e.getDepartment()))
+                .filter(e -> e.getSalary() != null && e.getSalary() >= MIN_SALARY && e.getSalary() <= MAX_SALARY)
+                .sorted(Comparator.comparing(EmployeeDTO::getSalary).reversed().thenComparing(EmployeeDTO::getId))
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+}
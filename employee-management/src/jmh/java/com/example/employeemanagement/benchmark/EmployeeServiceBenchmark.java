@@ -0,0 +1,94 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.config.CacheConfig;
+import com.example.employeemanagement.dto.DepartmentStatsDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    // small enough to stay resident in the employees cache
+    private static final int HOT_IDS = 1000;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private Cache employeeCache;
+    private jakarta.persistence.Cache entityCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // generated breadth-first with realistic manager trees and skewed departments, ids 1..rows
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--app.seed.progress-interval=" + Math.max(rows, 1),
+                "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        employeeCache = context.getBean(CacheManager.class).getCache(CacheConfig.EMPLOYEES_CACHE);
+        entityCache = context.getBean(EntityManagerFactory.class).getCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // a hit in the employees cache
+    @Benchmark
+    public EmployeeDTO getEmployeeByIdCached() {
+        return employeeService.getEmployeeById(ThreadLocalRandom.current().nextLong(1, HOT_IDS + 1));
+    }
+
+    // the database lookup behind it: both caches are cleared for the id first
+    @Benchmark
+    public EmployeeDTO getEmployeeByIdCold() {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        employeeCache.evict(id);
+        entityCache.evict(Employee.class, id);
+        return employeeService.getEmployeeById(id);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeePageDTO getEmployeesPage() {
+        return employeeService.getEmployeesPage(100, null);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> searchEmployeePrefix() {
+        return employeeService.searchEmployee("james", 20, true);
+    }
+
+    @Benchmark
+    public List<DepartmentStatsDTO> getDepartmentStats() {
+        return employeeService.getDepartmentStats();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Heap held while GET /api/employees/export streams every active employee, against GET /api/employees building the
+// same rows as one list. While a call runs, a sampler forces a full collection every SAMPLE_INTERVAL_MS and reads the
+// heap still in use; the largest reading minus the live heap before the call is what the call kept reachable,
+// reported as the retainedPeakMb counter. A streamed export should stay at about the same figure from 100k to 1M rows
+// while the list grows with the table. The forced collections are part of the measured time, so read latency from
+// EmployeeListingBenchmark instead.
+// mvn -P benchmarks test-compile exec:exec -Djmh.args="ExportBenchmark"
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private static final long SAMPLE_INTERVAL_MS = 2000;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peakLive = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+    private ScheduledExecutorService sampler;
+    private ScheduledFuture<?> sampling;
+    private long baseline;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedPeakMb;
+        public long samples;
+        public long responseMb;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:export-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--app.seed.progress-interval=" + Math.max(rows, 1),
+                "--app.hibernate-cache.enabled=false",
+                "--logging.level.root=WARN");
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/employees";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        sampler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sampler.shutdownNow();
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startSampling() {
+        System.gc();
+        baseline = memory.getHeapMemoryUsage().getUsed();
+        peakLive.set(0);
+        samples.set(0);
+        sampling = sampler.scheduleAtFixedRate(() -> {
+            System.gc();
+            peakLive.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            samples.incrementAndGet();
+        }, SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopSampling() {
+        sampling.cancel(false);
+    }
+
+    @Benchmark
+    public long streamNdjson(Footprint footprint) throws IOException, InterruptedException {
+        return fetch("/export?format=ndjson", footprint);
+    }
+
+    @Benchmark
+    public long streamCsv(Footprint footprint) throws IOException, InterruptedException {
+        return fetch("/export?format=csv", footprint);
+    }
+
+    // the path the export replaced: every row in one List<EmployeeDTO>, serialized as a single array
+    @Benchmark
+    public long materializedList(Footprint footprint) throws IOException, InterruptedException {
+        return fetch("", footprint);
+    }
+
+    private long fetch(String path, Footprint footprint) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(10)).build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        long bytes = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = response.body()) {
+            for (int n; (n = body.read(buffer)) >= 0; ) {
+                bytes += n;
+            }
+        }
+        footprint.retainedPeakMb = Math.max(0, peakLive.get() - baseline) >> 20;
+        footprint.samples = samples.get();
+        footprint.responseMb = bytes >> 20;
+        return bytes;
+    }
+}
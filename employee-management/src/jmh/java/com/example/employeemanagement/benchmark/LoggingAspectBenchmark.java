@@ -0,0 +1,55 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.aop.LoggingAspect;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    private EmployeeService target;
+    private EmployeeService legacyProxy;
+    private EmployeeService timerProxy;
+
+    @Setup
+    public void setUp() {
+        EmployeeDTO employee = EmployeeDTO.builder().id(1L).name("John Doe").status("ACTIVE").build();
+        target = (EmployeeService) Proxy.newProxyInstance(EmployeeService.class.getClassLoader(),
+                new Class<?>[]{EmployeeService.class}, (proxy, method, args) -> employee);
+        legacyProxy = proxy(new LegacyLoggingAspect());
+        timerProxy = proxy(new LoggingAspect(new SimpleMeterRegistry(), Duration.ofMillis(500)));
+    }
+
+    private EmployeeService proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public EmployeeDTO noAspect() {
+        return target.getEmployeeById(1L);
+    }
+
+    @Benchmark
+    public EmployeeDTO legacyLoggingAspect() {
+        return legacyProxy.getEmployeeById(1L);
+    }
+
+    @Benchmark
+    public EmployeeDTO timerAspect() {
+        return timerProxy.getEmployeeById(1L);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        Employee manager = Employee.builder().id(1L).name("Manager").status("ACTIVE").build();
+        employee = Employee.builder()
+                .id(2L)
+                .name("John Doe")
+                .department("IT")
+                .email("john.doe@company.com")
+                .salary(50000.0)
+                .status("ACTIVE")
+                .manager(manager)
+                .build();
+    }
+
+    @Benchmark
+    public EmployeeDTO builder() {
+        return EmployeeDTO.builder()
+                .id(employee.getId())
+                .name(employee.getName())
+                .department(employee.getDepartment())
+                .email(employee.getEmail())
+                .salary(employee.getSalary())
+                .status(employee.getStatus())
+                .managerId(employee.getManager() != null ? employee.getManager().getId() : null)
+                .build();
+    }
+
+    @Benchmark
+    public EmployeeDTO beanUtilsCopyProperties() {
+        EmployeeDTO dto = new EmployeeDTO();
+        BeanUtils.copyProperties(employee, dto);
+        return dto;
+    }
+}
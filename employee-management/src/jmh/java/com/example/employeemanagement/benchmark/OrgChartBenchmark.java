@@ -0,0 +1,147 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.OrgRollupDTO;
+import com.example.employeemanagement.hierarchy.OrgChartIndex;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Subtree, reporting chain and rollup latency over generated org charts of 100k and 1M employees (depth 6, fan-out 6,
+// so a top-level manager has about 9k reports). The index is built a second time outside the application so its build
+// time and heap can be measured on their own (used heap after a full GC, before and after the build), reported next
+// to the scores as the buildMs and indexMb counters. moveWhileReading interleaves writes with rollups, so it shows
+// what a change costs the queries that follow it.
+// mvn -P benchmarks test-compile exec:exec -Djmh.args="OrgChartBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class OrgChartBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private OrgChartIndex orgChart;
+    private long buildMs;
+    private long indexMb;
+    private long topManagerId;
+    private long leafManagerId;
+    private long leafId;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long buildMs;
+        public long indexMb;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:org-chart-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--app.seed.progress-interval=" + Math.max(rows, 1),
+                "--app.seed.inactive-ratio=0",
+                // the returned rows are loaded by id; measure that lookup, not the second-level cache
+                "--app.hibernate-cache.enabled=false",
+                "--logging.level.root=WARN");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        topManagerId = jdbc.queryForObject("select min(id) from employee where manager_id is null", Long.class);
+        // rows are generated breadth-first, so the last one with a manager sits at the deepest level (rows left over
+        // once every manager has its reports start new trees)
+        leafId = jdbc.queryForObject("select max(id) from employee where manager_id is not null", Long.class);
+        leafManagerId = jdbc.queryForObject("select manager_id from employee where id = ?", Long.class, leafId);
+
+        orgChart = new OrgChartIndex(context.getBean(EmployeeRepository.class));
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        long start = System.nanoTime();
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> orgChart.rebuild());
+        buildMs = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        indexMb = (memory.getHeapMemoryUsage().getUsed() - before) >> 20;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // every report of a top-level manager, loaded by id
+    @Benchmark
+    public List<EmployeeDTO> fullSubtree(Footprint footprint) {
+        record(footprint);
+        return orgChart.subtree(topManagerId, 0);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> directReports(Footprint footprint) {
+        record(footprint);
+        return orgChart.subtree(leafManagerId, 1);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> chainFromLeaf(Footprint footprint) {
+        record(footprint);
+        return orgChart.chain(leafId);
+    }
+
+    // answered from the index alone
+    @Benchmark
+    public OrgRollupDTO rollupTopManager(Footprint footprint) {
+        record(footprint);
+        return orgChart.rollup(topManagerId);
+    }
+
+    // one thread moving a leaf between two managers every few tens of microseconds while three query rollups, the
+    // mix the index serves once live; unpaced, the writer would only measure contention on the lock
+    @Benchmark
+    @Group("moveWhileReading")
+    @GroupThreads(1)
+    public void move(Mover mover) {
+        Blackhole.consumeCPU(20_000);
+        mover.toTop = !mover.toTop;
+        orgChart.put(EmployeeDTO.builder()
+                .id(leafId)
+                .managerId(mover.toTop ? topManagerId : leafManagerId)
+                .salary(50000.0)
+                .status("ACTIVE")
+                .build());
+    }
+
+    @Benchmark
+    @Group("moveWhileReading")
+    @GroupThreads(3)
+    public OrgRollupDTO rollupWhileMoving() {
+        return orgChart.rollup(topManagerId);
+    }
+
+    @State(Scope.Thread)
+    public static class Mover {
+        boolean toTop;
+    }
+
+    private void record(Footprint footprint) {
+        footprint.buildMs = buildMs;
+        footprint.indexMb = indexMb;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ManagerSalaryTotalDTO;
+import com.example.employeemanagement.dto.SalaryBucketDTO;
+import com.example.employeemanagement.dto.SalaryPercentilesDTO;
+import com.example.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Salary percentiles per department and per-manager totals over 1M employees, answered from the columnar snapshot
+// versus loading the active employees and grouping them on the heap
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class SalaryAnalyticsBenchmark {
+
+    private static final List<Double> PERCENTILES = List.of(0.5, 0.9, 0.99);
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:analytics-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SalaryPercentilesDTO> columnarPercentiles() {
+        return employeeService.getSalaryPercentiles("ACTIVE", PERCENTILES);
+    }
+
+    @Benchmark
+    public List<ManagerSalaryTotalDTO> columnarManagerTotals() {
+        return employeeService.getManagerSalaryTotals("ACTIVE", 100);
+    }
+
+    @Benchmark
+    public List<SalaryBucketDTO> columnarDistribution() {
+        return employeeService.getSalaryDistribution(null, "ACTIVE", 5000.0);
+    }
+
+    @Benchmark
+    public Map<String, double[]> loadAndGroupPercentiles() {
+        return employeeService.getAllEmployees().stream()
+                .filter(e -> e.getDepartment() != null && e.getSalary() != null)
+                .collect(Collectors.groupingBy(EmployeeDTO::getDepartment, Collectors.collectingAndThen(
+                        Collectors.mapping(EmployeeDTO::getSalary, Collectors.toList()), salaries -> {
+                            double[] sorted = salaries.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+                            double[] result = new double[PERCENTILES.size()];
+                            for (int i = 0; i < result.length; i++) {
+                                result[i] = sorted[(int) Math.round(PERCENTILES.get(i) * (sorted.length - 1))];
+                            }
+                            return result;
+                        })));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Search latency and index size from 10k to 1M generated employees. The index is built a second time outside the
+// application so its heap can be measured on its own (used heap after a full GC, before and after the build), and is
+// reported next to the scores as the indexMb counter.
+// mvn -P benchmarks test-compile exec:exec -Djmh.args="SearchIndexBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeSearchIndex searchIndex;
+    private long indexMb;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long indexMb;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1",
+                "--app.seed.enabled=true",
+                "--app.seed.count=" + rows,
+                "--app.seed.progress-interval=" + Math.max(rows, 1),
+                // the matched rows are loaded by id; measure that lookup, not the second-level cache
+                "--app.hibernate-cache.enabled=false",
+                "--logging.level.root=WARN");
+        searchIndex = new EmployeeSearchIndex(context.getBean(EmployeeRepository.class));
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> searchIndex.rebuild());
+        System.gc();
+        indexMb = (memory.getHeapMemoryUsage().getUsed() - before) >> 20;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> prefixSearch(Footprint footprint) {
+        footprint.indexMb = indexMb;
+        return searchIndex.search("jam", 20, true);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> containsSearch(Footprint footprint) {
+        footprint.indexMb = indexMb;
+        return searchIndex.search("son", 20, false);
+    }
+
+    // a two-gram intersection with a selective result
+    @Benchmark
+    public List<EmployeeDTO> fullNameSearch(Footprint footprint) {
+        footprint.indexMb = indexMb;
+        return searchIndex.search("james smith", 20, false);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// only registered by ThreadModeBenchmark (profile "benchmark"): a request that waits on a slow dependency, then runs a short query
+@RestController
+@Profile("benchmark")
+public class SlowRequestController {
+
+    private final EmployeeRepository employeeRepository;
+
+    public SlowRequestController(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @GetMapping("/benchmark/slow")
+    public long slow(@RequestParam(defaultValue = "100") long delayMs) throws InterruptedException {
+        Thread.sleep(delayMs);
+        return employeeRepository.count();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 5k concurrent requests that each wait 100ms, served by Tomcat's platform pool vs. virtual threads.
+// Virtual mode needs a Java 21+ JVM; on older runtimes both params run the platform pool.
+// mvn -P benchmarks test-compile exec:exec -Djmh.args="ThreadModeBenchmark"
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 5_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI uri;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long peakThreads;
+        public long heapUsedMb;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(EmployeeManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=dev,benchmark" + (virtualThreads ? ",virtual-threads" : ""),
+                "--spring.datasource.url=jdbc:h2:mem:threads;DB_CLOSE_DELAY=-1",
+                "--server.tomcat.max-connections=10000",
+                "--server.tomcat.accept-count=10000",
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        uri = URI.create("http://localhost:" + port + "/benchmark/slow?delayMs=100");
+        client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @Benchmark
+    public int concurrentSlowRequests(Footprint footprint) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(1)).build();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long peakHeap = 0;
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        footprint.peakThreads = threads.getPeakThreadCount();
+        footprint.heapUsedMb = peakHeap / (1024 * 1024);
+        return ok;
+    }
+}
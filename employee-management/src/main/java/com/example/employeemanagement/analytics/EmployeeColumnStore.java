@@ -0,0 +1,436 @@
+package com.example.employeemanagement.analytics;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ManagerSalaryTotalDTO;
+import com.example.employeemanagement.dto.SalaryBucketDTO;
+import com.example.employeemanagement.dto.SalaryPercentilesDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Columnar copy of the employee table for salary and headcount analytics. Loaded once at startup, then kept current
+// from the same change events as the other in-memory indexes; queries are parallel scans over the primitive columns.
+@Component
+@RequiredArgsConstructor
+public class EmployeeColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeColumnStore.class);
+
+    static final String UNASSIGNED = "UNASSIGNED";
+    static final int MAX_BUCKETS = 1000;
+
+    private static final int ANY = Integer.MIN_VALUE;
+    // rows per leaf task: big enough that forking is noise next to the scan, small enough to spread 1M rows over all cores
+    private static final int SCAN_CHUNK = 1 << 15;
+
+    private final EmployeeRepository employeeRepository;
+
+    // scans take the read lock for their whole duration; a single-row write waits for at most one scan
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private EmployeeColumns columns = new EmployeeColumns(0);
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        EmployeeColumns rebuilt;
+        lock.writeLock().lock();
+        try {
+            // built already by whoever held the lock before us, so the table is streamed once
+            if (ready) {
+                return;
+            }
+            rebuilt = new EmployeeColumns((int) Math.min(Integer.MAX_VALUE - 8, employeeRepository.count()));
+            try (Stream<EmployeeDTO> rows = employeeRepository.streamAll()) {
+                rows.forEach(rebuilt::upsert);
+            }
+            columns = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Analytics snapshot built with {} employees ({} KB) in {} ms",
+                rebuilt.size, rebuilt.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        put(event.getEmployee());
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesArchived(EmployeesArchivedEvent event) {
+        remove(event.getIds());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(EmployeeDTO employee) {
+        lock.writeLock().lock();
+        try {
+            columns.upsert(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            columns.remove(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // one entry per department with at least one salaried employee, percentiles interpolated between closest ranks
+    public List<SalaryPercentilesDTO> salaryPercentiles(String status, double[] percentiles) {
+        SalaryGroups groups;
+        String[] labels;
+        lock.readLock().lock();
+        try {
+            EmployeeColumns c = columns;
+            int statusCode = filterCode(c.statusDictionary, status);
+            if (statusCode == EmployeeColumns.MISSING) {
+                return List.of();
+            }
+            int groupCount = c.departmentDictionary.size() + 1;
+            // group 0 collects employees without a department, group k + 1 department code k
+            groups = scan(c, ANY, statusCode, () -> new SalaryGroups(groupCount), (acc, row) -> {
+                if (!Double.isNaN(c.salaries[row])) {
+                    acc.add(c.departments[row] + 1, c.salaries[row]);
+                }
+            }, SalaryGroups::merge);
+            labels = new String[groupCount];
+            for (int g = 0; g < groupCount; g++) {
+                String department = c.departmentDictionary.decode(g - 1);
+                labels[g] = department != null ? department : UNASSIGNED;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SalaryPercentilesDTO> result = new ArrayList<>();
+        for (int g = 0; g < labels.length; g++) {
+            int n = groups.counts[g];
+            if (n == 0) {
+                continue;
+            }
+            double[] salaries = groups.values[g];
+            Arrays.parallelSort(salaries, 0, n);
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (double p : percentiles) {
+                values.put(percentileName(p), percentile(salaries, n, p));
+            }
+            result.add(SalaryPercentilesDTO.builder()
+                    .department(labels[g])
+                    .count(n)
+                    .minSalary(salaries[0])
+                    .maxSalary(salaries[n - 1])
+                    .averageSalary(groups.sums[g] / n)
+                    .percentiles(values)
+                    .build());
+        }
+        result.sort(Comparator.comparing(SalaryPercentilesDTO::getDepartment));
+        return result;
+    }
+
+    // managers with the highest total salary across their direct reports, highest first
+    public List<ManagerSalaryTotalDTO> managerSalaryTotals(String status, int limit) {
+        ManagerTotals totals;
+        lock.readLock().lock();
+        try {
+            EmployeeColumns c = columns;
+            int statusCode = filterCode(c.statusDictionary, status);
+            if (statusCode == EmployeeColumns.MISSING) {
+                return List.of();
+            }
+            totals = scan(c, ANY, statusCode, ManagerTotals::new, (acc, row) -> {
+                if (c.managerIds[row] != EmployeeColumns.NO_MANAGER) {
+                    acc.add(c.managerIds[row], 1, Double.isNaN(c.salaries[row]) ? 0 : c.salaries[row]);
+                }
+            }, ManagerTotals::merge);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return totals.top(limit);
+    }
+
+    // fixed-width salary buckets aligned to multiples of the width, from the lowest to the highest salary
+    public List<SalaryBucketDTO> salaryDistribution(String department, String status, double bucketWidth) {
+        double origin;
+        long[] counts;
+        lock.readLock().lock();
+        try {
+            EmployeeColumns c = columns;
+            int departmentCode = filterCode(c.departmentDictionary, department);
+            int statusCode = filterCode(c.statusDictionary, status);
+            if (departmentCode == EmployeeColumns.MISSING || statusCode == EmployeeColumns.MISSING) {
+                return List.of();
+            }
+            double[] range = scan(c, departmentCode, statusCode,
+                    () -> new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}, (acc, row) -> {
+                        double salary = c.salaries[row];
+                        if (!Double.isNaN(salary)) {
+                            acc[0] = Math.min(acc[0], salary);
+                            acc[1] = Math.max(acc[1], salary);
+                        }
+                    }, (a, b) -> new double[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+            if (range[0] > range[1]) {
+                return List.of();
+            }
+            origin = Math.floor(range[0] / bucketWidth) * bucketWidth;
+            double span = Math.floor((range[1] - origin) / bucketWidth) + 1;
+            if (span > MAX_BUCKETS) {
+                throw new IllegalArgumentException("bucketWidth " + bucketWidth + " splits the salary range into more than "
+                        + MAX_BUCKETS + " buckets");
+            }
+            int buckets = (int) span;
+            double start = origin;
+            counts = scan(c, departmentCode, statusCode, () -> new long[buckets], (acc, row) -> {
+                double salary = c.salaries[row];
+                if (!Double.isNaN(salary)) {
+                    acc[Math.min(buckets - 1, (int) ((salary - start) / bucketWidth))]++;
+                }
+            }, (a, b) -> {
+                for (int i = 0; i < a.length; i++) {
+                    a[i] += b[i];
+                }
+                return a;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SalaryBucketDTO> result = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            result.add(SalaryBucketDTO.builder()
+                    .lowerBound(origin + i * bucketWidth)
+                    .upperBound(origin + (i + 1) * bucketWidth)
+                    .count(counts[i])
+                    .build());
+        }
+        return result;
+    }
+
+    long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return columns.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int filterCode(EmployeeColumns.Dictionary dictionary, String value) {
+        return value == null ? ANY : dictionary.lookup(value);
+    }
+
+    private static <A> A scan(EmployeeColumns columns, int department, int status, Supplier<A> supplier,
+                              ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner) {
+        return ForkJoinPool.commonPool().invoke(
+                new ScanTask<>(columns, department, status, supplier, accumulator, combiner, 0, columns.size));
+    }
+
+    static double percentile(double[] sorted, int n, double p) {
+        double rank = p * (n - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(n - 1, lower + 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    private static String percentileName(double p) {
+        return "p" + BigDecimal.valueOf(p).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+        private final EmployeeColumns columns;
+        private final int department;
+        private final int status;
+        private final Supplier<A> supplier;
+        private final ObjIntConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final int from;
+        private final int to;
+
+        ScanTask(EmployeeColumns columns, int department, int status, Supplier<A> supplier,
+                 ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner, int from, int to) {
+            this.columns = columns;
+            this.department = department;
+            this.status = status;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= SCAN_CHUNK) {
+                A result = supplier.get();
+                int[] departments = columns.departments;
+                int[] statuses = columns.statuses;
+                for (int row = from; row < to; row++) {
+                    if ((department == ANY || departments[row] == department) && (status == ANY || statuses[row] == status)) {
+                        accumulator.accept(result, row);
+                    }
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(columns, department, status, supplier, accumulator, combiner, from, mid);
+            left.fork();
+            A right = new ScanTask<>(columns, department, status, supplier, accumulator, combiner, mid, to).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    // salaries per group in growable arrays, so the group can be sorted in place afterwards
+    private static final class SalaryGroups {
+        private final double[][] values;
+        private final int[] counts;
+        private final double[] sums;
+
+        SalaryGroups(int groups) {
+            values = new double[groups][];
+            counts = new int[groups];
+            sums = new double[groups];
+        }
+
+        void add(int group, double salary) {
+            double[] target = values[group];
+            if (target == null) {
+                target = values[group] = new double[64];
+            } else if (counts[group] == target.length) {
+                target = values[group] = Arrays.copyOf(target, target.length * 2);
+            }
+            target[counts[group]++] = salary;
+            sums[group] += salary;
+        }
+
+        SalaryGroups merge(SalaryGroups other) {
+            for (int g = 0; g < values.length; g++) {
+                int extra = other.counts[g];
+                if (extra == 0) {
+                    continue;
+                }
+                int total = counts[g] + extra;
+                if (values[g] == null || values[g].length < total) {
+                    values[g] = values[g] == null ? new double[total] : Arrays.copyOf(values[g], total);
+                }
+                System.arraycopy(other.values[g], 0, values[g], counts[g], extra);
+                counts[g] = total;
+                sums[g] += other.sums[g];
+            }
+            return this;
+        }
+    }
+
+    // open-addressing map from manager id to report count and salary total, keyed on primitives to avoid boxing
+    // a hundred thousand managers per scan; 0 marks a free slot since it is never a manager id
+    private static final class ManagerTotals {
+        private long[] keys = new long[64];
+        private int[] counts = new int[64];
+        private double[] sums = new double[64];
+        private int size;
+
+        void add(long managerId, int count, double salary) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            int slot = slot(keys, managerId);
+            if (keys[slot] == 0) {
+                keys[slot] = managerId;
+                size++;
+            }
+            counts[slot] += count;
+            sums[slot] += salary;
+        }
+
+        ManagerTotals merge(ManagerTotals other) {
+            ManagerTotals into = size >= other.size ? this : other;
+            ManagerTotals from = into == this ? other : this;
+            for (int i = 0; i < from.keys.length; i++) {
+                if (from.keys[i] != 0) {
+                    into.add(from.keys[i], from.counts[i], from.sums[i]);
+                }
+            }
+            return into;
+        }
+
+        List<ManagerSalaryTotalDTO> top(int limit) {
+            // highest total first, lower manager id first on ties
+            Comparator<Integer> order = Comparator.<Integer>comparingDouble(i -> sums[i]).reversed()
+                    .thenComparingLong(i -> keys[i]);
+            PriorityQueue<Integer> best = new PriorityQueue<>(order.reversed());
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == 0) {
+                    continue;
+                }
+                best.add(i);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Integer> slots = new ArrayList<>(best);
+            slots.sort(order);
+            List<ManagerSalaryTotalDTO> result = new ArrayList<>(slots.size());
+            for (int i : slots) {
+                result.add(ManagerSalaryTotalDTO.builder()
+                        .managerId(keys[i])
+                        .directReports(counts[i])
+                        .totalSalary(sums[i])
+                        .build());
+            }
+            return result;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            double[] oldSums = sums;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[keys.length];
+            sums = new double[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                    sums[slot] = oldSums[i];
+                }
+            }
+        }
+
+        private static int slot(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
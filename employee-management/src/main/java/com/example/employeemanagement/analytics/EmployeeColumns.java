@@ -0,0 +1,151 @@
+package com.example.employeemanagement.analytics;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The employee table as one primitive array per attribute, rows kept in id order so a row is found by binary search.
+// A row costs 32 bytes (plus array slack), against several hundred for a managed Employee with its strings and boxes.
+// Not thread-safe; EmployeeColumnStore guards it.
+final class EmployeeColumns {
+
+    static final int NO_CODE = -1;
+    static final int MISSING = -2;
+    // ids come from employee_seq, which starts at 1
+    static final long NO_MANAGER = 0;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int BYTES_PER_ROW = 2 * Long.BYTES + Double.BYTES + 2 * Integer.BYTES;
+
+    long[] ids;
+    long[] managerIds;
+    // NaN when the employee has no salary
+    double[] salaries;
+    int[] departments;
+    int[] statuses;
+    int size;
+
+    final Dictionary departmentDictionary = new Dictionary();
+    final Dictionary statusDictionary = new Dictionary();
+
+    EmployeeColumns(int capacity) {
+        int initial = Math.max(MIN_CAPACITY, capacity);
+        ids = new long[initial];
+        managerIds = new long[initial];
+        salaries = new double[initial];
+        departments = new int[initial];
+        statuses = new int[initial];
+    }
+
+    void upsert(EmployeeDTO employee) {
+        long id = employee.getId();
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = -row - 1;
+            openRow(row);
+        }
+        ids[row] = id;
+        managerIds[row] = employee.getManagerId() != null ? employee.getManagerId() : NO_MANAGER;
+        salaries[row] = employee.getSalary() != null ? employee.getSalary() : Double.NaN;
+        departments[row] = departmentDictionary.encode(employee.getDepartment());
+        statuses[row] = statusDictionary.encode(employee.getStatus());
+    }
+
+    // marks the rows to drop, then closes the gaps in one pass from the first of them
+    void remove(Collection<Long> removedIds) {
+        int first = size;
+        boolean[] removed = null;
+        for (Long id : removedIds) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            if (row >= 0) {
+                if (removed == null) {
+                    removed = new boolean[size];
+                }
+                removed[row] = true;
+                first = Math.min(first, row);
+            }
+        }
+        if (removed == null) {
+            return;
+        }
+        int kept = first;
+        for (int row = first; row < size; row++) {
+            if (!removed[row]) {
+                ids[kept] = ids[row];
+                managerIds[kept] = managerIds[row];
+                salaries[kept] = salaries[row];
+                departments[kept] = departments[row];
+                statuses[kept] = statuses[row];
+                kept++;
+            }
+        }
+        size = kept;
+    }
+
+    long memoryBytes() {
+        return (long) ids.length * BYTES_PER_ROW;
+    }
+
+    // new ids come from a sequence and almost always land at the end; anything else shifts the tail up by one
+    private void openRow(int row) {
+        if (size == ids.length) {
+            grow();
+        }
+        int tail = size - row;
+        if (tail > 0) {
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(managerIds, row, managerIds, row + 1, tail);
+            System.arraycopy(salaries, row, salaries, row + 1, tail);
+            System.arraycopy(departments, row, departments, row + 1, tail);
+            System.arraycopy(statuses, row, statuses, row + 1, tail);
+        }
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        managerIds = Arrays.copyOf(managerIds, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        departments = Arrays.copyOf(departments, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    // codes are handed out in first-seen order and never reused, so a code stays valid for the life of the columns
+    static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        // MISSING for a value no row has ever had
+        int lookup(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            Integer code = codes.get(value);
+            return code != null ? code : MISSING;
+        }
+
+        String decode(int code) {
+            return code == NO_CODE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.example.employeemanagement.aop;
 
-import org.aspectj.lang.JoinPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Aspect
 @Component
@@ -16,26 +26,94 @@ public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
-    @Before("execution(* com.example.employeemanagement.service.*.*(..))")
-    public void logBeforeServiceMethods(JoinPoint joinPoint) {
-        logger.debug("Entering method: {} with arguments: {}",
-                joinPoint.getSignature().toShortString(),
-                joinPoint.getArgs());
-    }
+    static final String TIMER_NAME = "employee.service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowCallThresholdNanos;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
 
-    @AfterReturning(pointcut = "execution(* com.example.employeemanagement.service.*.*(..))", returning = "result")
-    public void logAfterServiceMethods(JoinPoint joinPoint, Object result) {
-        logger.debug("Exiting method: {} with result: {}",
-                joinPoint.getSignature().toShortString(),
-                result);
+    public LoggingAspect(MeterRegistry meterRegistry,
+                         @Value("${app.service.slow-call-threshold:500ms}") Duration slowCallThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
     }
 
-    @Around( "execution(* com.example.employeemanagement.service.*.*(..))")
-    public Object logTimeTaken(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long duration = System.currentTimeMillis() - start;
-        logger.info("Method {} executed in {} ms", joinPoint.getSignature().toShortString(), duration);
+    @Around("execution(* com.example.employeemanagement.service.*.*(..))")
+    public Object timeServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Entering method: {} with arguments: {}",
+                    joinPoint.getSignature().toShortString(),
+                    Arrays.toString(joinPoint.getArgs()));
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            record(joinPoint, start, ex, false);
+            throw ex;
+        }
+        if (result instanceof Mono<?> mono) {
+            // a Mono does its work when subscribed, which may be later or more than once, so each subscription is
+            // timed from its own start until it completes, fails or is cancelled
+            return Mono.defer(() -> {
+                long[] subscribedAt = new long[1];
+                Object[] value = new Object[1];
+                Throwable[] failure = new Throwable[1];
+                return mono.doOnSubscribe(subscription -> subscribedAt[0] = System.nanoTime())
+                        .doOnNext(next -> value[0] = next)
+                        .doOnError(ex -> failure[0] = ex)
+                        .doFinally(signal -> {
+                            record(joinPoint, subscribedAt[0], failure[0], signal == SignalType.CANCEL);
+                            if (signal == SignalType.ON_COMPLETE) {
+                                logExit(joinPoint, value[0]);
+                            }
+                        });
+            });
+        }
+        record(joinPoint, start, null, false);
+        logExit(joinPoint, result);
         return result;
     }
-}
\ No newline at end of file
+
+    private void logExit(ProceedingJoinPoint joinPoint, Object result) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Exiting method: {} with result: {}",
+                    joinPoint.getSignature().toShortString(),
+                    result);
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long start, Throwable ex, boolean cancelled) {
+        long duration = System.nanoTime() - start;
+        timer(joinPoint, ex, cancelled).record(duration, TimeUnit.NANOSECONDS);
+        if (duration >= slowCallThresholdNanos) {
+            logger.warn("Slow call: {} took {} ms", joinPoint.getSignature().toShortString(),
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, Throwable ex, boolean cancelled) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        if (cancelled) {
+            return buildTimer(signature, "none", "true");
+        }
+        if (ex == null) {
+            return successTimers.computeIfAbsent(signature.getMethod(), method -> buildTimer(signature, "none", "false"));
+        }
+        return buildTimer(signature, ex.getClass().getSimpleName(), "false");
+    }
+
+    // cancelled: the subscriber went away before a returned Mono finished, so the time is how long it waited
+    private Timer buildTimer(MethodSignature signature, String exception, String cancelled) {
+        return Timer.builder(TIMER_NAME)
+                .description("Execution time of service methods")
+                .tag("class", signature.getDeclaringType().getSimpleName())
+                .tag("method", signature.getName())
+                .tag("exception", exception)
+                .tag("cancelled", cancelled)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
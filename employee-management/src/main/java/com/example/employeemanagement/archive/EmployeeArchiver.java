@@ -0,0 +1,124 @@
+package com.example.employeemanagement.archive;
+
+import com.example.employeemanagement.config.ArchiveProperties;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.repository.ArchivedEmployeeRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+// Moves inactive employees out of the hot employee table into employee_archive, one chunk per transaction, so a large
+// backlog never holds locks for long. The copy and the delete both run inside the database. An employee who still
+// manages someone in the hot table stays until those reports are reassigned or archived themselves; archiving runs
+// chunk after chunk until nothing is left, so inactive subtrees drain from the leaves up within a single run.
+@Component
+public class EmployeeArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeArchiver.class);
+
+    // chunks in a row that may be rolled back by concurrent writes before the run gives up until next time
+    private static final int MAX_CONFLICTS = 3;
+
+    private final EmployeeRepository employeeRepository;
+    private final ArchivedEmployeeRepository archivedEmployeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final Counter conflicts;
+
+    public EmployeeArchiver(EmployeeRepository employeeRepository,
+                            ArchivedEmployeeRepository archivedEmployeeRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            ArchiveProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.archivedEmployeeRepository = archivedEmployeeRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder("employee.archive.archived")
+                .description("Employees moved from the hot table to the archive")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("employee.archive.conflicts")
+                .description("Archive chunks rolled back because a row changed after it was selected")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.interval:PT1H}")
+    public void scheduledArchive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        archive();
+    }
+
+    // returns the number of employees archived
+    public int archive() {
+        long start = System.nanoTime();
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int total = 0;
+        int conflictsInRow = 0;
+        while (true) {
+            int moved;
+            try {
+                moved = transactionTemplate.execute(status -> moveChunk(cutoff, batchSize));
+            } catch (ChunkChangedException | DataIntegrityViolationException e) {
+                // the next selection sees the row's new state, so retrying picks a chunk that can be moved
+                conflicts.increment();
+                if (++conflictsInRow > MAX_CONFLICTS) {
+                    logger.warn("Archiving stopped after {} conflicting chunks in a row: {}", conflictsInRow, e.getMessage());
+                    break;
+                }
+                continue;
+            }
+            conflictsInRow = 0;
+            archived.increment(moved);
+            total += moved;
+            // a short chunk may still have freed managers for the next one, so stop only when nothing moved
+            if (moved == 0) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Archived {} inactive employees in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    private int moveChunk(Instant cutoff, int batchSize) {
+        List<Long> ids = employeeRepository.findArchivableIds(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedEmployeeRepository.copyFromEmployees(ids, cutoff, Instant.now());
+        int deleted = employeeRepository.deleteArchived(ids, cutoff);
+        if (copied != ids.size() || deleted != ids.size()) {
+            throw new ChunkChangedException("Selected " + ids.size() + " employees but copied " + copied
+                    + " and deleted " + deleted);
+        }
+        // listeners drop the rows from the in-memory indexes once the chunk commits
+        eventPublisher.publishEvent(new EmployeesArchivedEvent(archivedEmployeeRepository.findDtosByIdIn(ids)));
+        return ids.size();
+    }
+
+    private static final class ChunkChangedException extends RuntimeException {
+        private ChunkChangedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.example.employeemanagement.changes;
+
+import com.example.employeemanagement.config.ChangeFeedProperties;
+import com.example.employeemanagement.dto.ChangeBatchDTO;
+import com.example.employeemanagement.dto.EmployeeChangeDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.model.EmployeeChange;
+import com.example.employeemanagement.repository.EmployeeChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Changes are appended in the writing transaction, so a rolled back write never shows up in the log. Sequence
+// numbers come from a counter row the writer locks just before it commits, so across all instances they are handed
+// out in commit order without holes: once a seq is in the table, every lower one is too. This instance publishes its
+// own changes in seq order as their transactions complete, and reads the seqs other instances committed in between
+// from the table, as soon as one of its own commits finds one missing or else on the catch-up poll, which means a
+// consumer that resumes from the last seq it saw never skips one. Subscribers near the head are served from memory
+// and woken by one shared signal, so a commit costs the same database work whether ten or ten thousand clients are
+// listening.
+@Component
+public class EmployeeChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeLog.class);
+
+    private final EmployeeChangeRepository changeRepository;
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedProperties properties;
+    private final Scheduler blockingCallScheduler;
+
+    // guarded by lock: sequence numbers of transactions on this instance still running, and committed changes
+    // waiting behind them
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock catchUpLock = new ReentrantLock();
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private final TreeMap<Long, EmployeeChangeDTO> held = new TreeMap<>();
+    private int recentSize;
+
+    // published changes in seq order, read without locking
+    private final ConcurrentSkipListMap<Long, EmployeeChangeDTO> recent = new ConcurrentSkipListMap<>();
+    private volatile long published;
+    // everything published after this seq is still in `recent`
+    private volatile long memoryFloor = Long.MAX_VALUE;
+    // changes up to this seq were pruned
+    private volatile long pruneFloor;
+
+    private final Sinks.Many<Long> watermarks = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter appended;
+    private final Counter memoryReads;
+    private final Counter databaseReads;
+
+    public EmployeeChangeLog(EmployeeChangeRepository changeRepository,
+                             ObjectMapper objectMapper,
+                             ChangeFeedProperties properties,
+                             Scheduler blockingCallScheduler,
+                             MeterRegistry meterRegistry) {
+        this.changeRepository = changeRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.blockingCallScheduler = blockingCallScheduler;
+
+        Gauge.builder("employee.changes.published", this, EmployeeChangeLog::getPublished)
+                .description("Highest sequence number visible to consumers")
+                .register(meterRegistry);
+        Gauge.builder("employee.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Open change streams")
+                .register(meterRegistry);
+        this.appended = Counter.builder("employee.changes.appended")
+                .description("Changes written to the change log")
+                .register(meterRegistry);
+        this.memoryReads = readCounter(meterRegistry, "memory");
+        this.databaseReads = readCounter(meterRegistry, "database");
+    }
+
+    @PostConstruct
+    public void start() {
+        long max = changeRepository.findMaxSeq();
+        long min = changeRepository.findMinSeq();
+        lock.lock();
+        try {
+            published = Math.max(published, max);
+            memoryFloor = published;
+        } finally {
+            lock.unlock();
+        }
+        pruneFloor = min > 0 ? min - 1 : max;
+        logger.info("Change log resumes at seq {}", published);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        List<EmployeeChangeDTO> pending = pendingForTransaction();
+        pending.add(append(event));
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.prune-interval:PT1H}", initialDelayString = "${app.changes.prune-interval:PT1H}")
+    public void prune() {
+        Long upTo = changeRepository.findMaxSeqChangedBefore(Instant.now().minus(properties.getRetention()));
+        if (upTo == null) {
+            return;
+        }
+        // raise the floor first so no reader is handed a range that is being deleted underneath it
+        pruneFloor = Math.max(pruneFloor, upTo);
+        int deleted = changeRepository.deleteUpTo(upTo);
+        logger.debug("Pruned {} changes up to seq {}", deleted, upTo);
+    }
+
+    // Publishes the changes other instances committed after the last seq published here. Rows come back in seq order
+    // and without holes up to the newest commit, so everything up to the first missing seq can be published.
+    @Scheduled(fixedDelayString = "${app.changes.catch-up-interval:PT1S}", initialDelayString = "${app.changes.catch-up-interval:PT1S}")
+    public void catchUp() {
+        // one already running publishes what this one would
+        if (!catchUpLock.tryLock()) {
+            return;
+        }
+        try {
+            int size = pageSize(0);
+            boolean more = true;
+            while (more) {
+                long before = published;
+                List<EmployeeChange> rows = changeRepository.findBySeqGreaterThanOrderBySeqAsc(before, Limit.of(size));
+                lock.lock();
+                try {
+                    for (EmployeeChange row : rows) {
+                        if (row.getSeq() > published + 1) {
+                            break;
+                        }
+                        if (row.getSeq() == published + 1) {
+                            held.remove(row.getSeq());
+                            publish(toDTO(row));
+                        }
+                    }
+                    drain();
+                } finally {
+                    lock.unlock();
+                }
+                signal(before);
+                more = rows.size() == size && published > before;
+            }
+        } finally {
+            catchUpLock.unlock();
+        }
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public boolean requiresResync(long since) {
+        return since < pruneFloor;
+    }
+
+    // blocking: may read the table when `since` is older than what is kept in memory
+    public ChangeBatchDTO changesSince(long since, int limit) {
+        int size = pageSize(limit);
+        if (requiresResync(since)) {
+            return resync();
+        }
+        ChangeBatchDTO cached = fromMemory(since, size);
+        return cached != null ? cached : fromDatabase(since, size);
+    }
+
+    // completes as soon as something after `since` is published, or with an empty batch once the timeout passes
+    public Mono<ChangeBatchDTO> poll(long since, int limit, Duration timeout) {
+        int size = pageSize(limit);
+        return watermarks()
+                .filter(seq -> seq > since || requiresResync(since))
+                .next()
+                .timeout(timeout, Mono.empty())
+                .flatMap(seq -> read(since, size))
+                .defaultIfEmpty(ChangeBatchDTO.builder().changes(List.of()).nextSince(since).build());
+    }
+
+    public Flux<EmployeeChangeDTO> stream(long since) {
+        AtomicLong cursor = new AtomicLong(since);
+        int size = pageSize(0);
+        // the signal only says "something was published"; slow subscribers keep just the latest one and then read
+        // from their own cursor, so a burst of commits never queues up per subscriber
+        return watermarks()
+                .onBackpressureLatest()
+                .publishOn(Schedulers.parallel(), 1)
+                .filter(seq -> published > cursor.get())
+                .concatMap(seq -> drain(cursor, size), 1)
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    EmployeeChangeDTO append(EmployeeChangedEvent event) {
+        EmployeeDTO state = event.getEmployee() != null ? event.getEmployee() : event.getPrevious();
+        EmployeeChange change = EmployeeChange.builder()
+                .seq(changeRepository.nextSeq())
+                .employeeId(state.getId())
+                .type(event.getType().name())
+                .payload(toJson(state))
+                .changedAt(Instant.now())
+                .build();
+        lock.lock();
+        try {
+            inFlight.add(change.getSeq());
+        } finally {
+            lock.unlock();
+        }
+        changeRepository.save(change);
+        appended.increment();
+        return EmployeeChangeDTO.builder()
+                .seq(change.getSeq())
+                .type(change.getType())
+                .employeeId(change.getEmployeeId())
+                .employee(state)
+                .changedAt(change.getChangedAt())
+                .build();
+    }
+
+    void complete(List<EmployeeChangeDTO> changes, boolean committed) {
+        long before = published;
+        boolean missing;
+        lock.lock();
+        try {
+            for (EmployeeChangeDTO change : changes) {
+                inFlight.remove(change.getSeq());
+                // a catch-up may have read it from the table already
+                if (committed && change.getSeq() > published) {
+                    held.put(change.getSeq(), change);
+                }
+            }
+            drain();
+            // the next seq is not running here, so another instance committed it
+            missing = !held.isEmpty() && !inFlight.contains(published + 1);
+        } finally {
+            lock.unlock();
+        }
+        signal(before);
+        // not on this thread: it is finishing a transaction, and a read from here would still run inside it
+        if (missing) {
+            blockingCallScheduler.schedule(this::catchUp);
+        }
+    }
+
+    // guarded by lock: publishes the held changes that follow on from the last published seq
+    private void drain() {
+        for (EmployeeChangeDTO next = held.remove(published + 1); next != null; next = held.remove(published + 1)) {
+            publish(next);
+        }
+        while (recentSize > properties.getMemoryCapacity()) {
+            // floor moves before the entry goes, so a reader that misses it also sees the new floor
+            long oldest = recent.firstKey();
+            memoryFloor = oldest;
+            recent.remove(oldest);
+            recentSize--;
+        }
+    }
+
+    // guarded by lock
+    private void publish(EmployeeChangeDTO change) {
+        recent.put(change.getSeq(), change);
+        recentSize++;
+        published = change.getSeq();
+    }
+
+    private void signal(long before) {
+        long after = published;
+        if (after != before) {
+            synchronized (watermarks) {
+                watermarks.tryEmitNext(after);
+            }
+        }
+    }
+
+    private List<EmployeeChangeDTO> pendingForTransaction() {
+        @SuppressWarnings("unchecked")
+        List<EmployeeChangeDTO> pending = (List<EmployeeChangeDTO>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<EmployeeChangeDTO> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeChangeLog.this);
+                    complete(created, status == STATUS_COMMITTED);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    // subscribe to the signal before reading the current value, otherwise a publish in between would be missed
+    private Flux<Long> watermarks() {
+        return Flux.merge(watermarks.asFlux(), Mono.fromSupplier(this::getPublished));
+    }
+
+    private Flux<EmployeeChangeDTO> drain(AtomicLong cursor, int size) {
+        return read(cursor.get(), size)
+                .expand(batch -> batch.isResyncRequired() || batch.getChanges().size() < size
+                        ? Mono.empty()
+                        : read(batch.getNextSince(), size))
+                .concatMapIterable(batch -> {
+                    if (batch.isResyncRequired()) {
+                        throw new IllegalStateException("Change log was pruned past seq " + cursor.get());
+                    }
+                    cursor.set(batch.getNextSince());
+                    return batch.getChanges();
+                });
+    }
+
+    private Mono<ChangeBatchDTO> read(long since, int size) {
+        return Mono.defer(() -> {
+            if (requiresResync(since)) {
+                return Mono.just(resync());
+            }
+            ChangeBatchDTO cached = fromMemory(since, size);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return Mono.fromCallable(() -> fromDatabase(since, size)).subscribeOn(blockingCallScheduler);
+        });
+    }
+
+    private ChangeBatchDTO fromMemory(long since, int size) {
+        if (since < memoryFloor) {
+            return null;
+        }
+        List<EmployeeChangeDTO> changes = new ArrayList<>(Math.min(size, 64));
+        for (EmployeeChangeDTO change : recent.tailMap(since, false).values()) {
+            if (changes.size() >= size) {
+                break;
+            }
+            changes.add(change);
+        }
+        // entries after `since` may have been evicted while iterating
+        if (since < memoryFloor) {
+            return null;
+        }
+        memoryReads.increment();
+        return batch(since, changes);
+    }
+
+    private ChangeBatchDTO fromDatabase(long since, int size) {
+        long upTo = published;
+        List<EmployeeChangeDTO> changes = changeRepository
+                .findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(since, upTo, Limit.of(size))
+                .stream()
+                .map(this::toDTO)
+                .toList();
+        databaseReads.increment();
+        return batch(since, changes);
+    }
+
+    private ChangeBatchDTO batch(long since, List<EmployeeChangeDTO> changes) {
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return ChangeBatchDTO.builder().changes(changes).nextSince(next).build();
+    }
+
+    // read `published` before the client reloads the full list, so resuming from it cannot skip anything
+    private ChangeBatchDTO resync() {
+        return ChangeBatchDTO.builder().changes(List.of()).nextSince(published).resyncRequired(true).build();
+    }
+
+    private int pageSize(int requested) {
+        int max = Math.max(1, properties.getPageSize());
+        return requested > 0 ? Math.min(requested, max) : max;
+    }
+
+    private EmployeeChangeDTO toDTO(EmployeeChange change) {
+        try {
+            return EmployeeChangeDTO.builder()
+                    .seq(change.getSeq())
+                    .type(change.getType())
+                    .employeeId(change.getEmployeeId())
+                    .employee(objectMapper.readValue(change.getPayload(), EmployeeDTO.class))
+                    .changedAt(change.getChangedAt())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable change log entry " + change.getSeq(), e);
+        }
+    }
+
+    private String toJson(EmployeeDTO employee) {
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize employee " + employee.getId(), e);
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("employee.changes.reads")
+                .description("Change batches served to consumers")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
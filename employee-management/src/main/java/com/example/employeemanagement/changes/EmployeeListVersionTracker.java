@@ -0,0 +1,58 @@
+package com.example.employeemanagement.changes;
+
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.repository.EmployeeListVersionRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps employee_list_version at the number of employee changes committed, so the collection ETag is a primary-key
+// lookup instead of an aggregate over the table; the row itself is created by migration V3. Changes are counted while
+// the writing transaction runs and added with one update just before it commits, which holds the row lock only for
+// the commit; a bulk write of a thousand employees is still one update.
+@Component
+public class EmployeeListVersionTracker {
+
+    private final EmployeeListVersionRepository listVersionRepository;
+
+    public EmployeeListVersionTracker(EmployeeListVersionRepository listVersionRepository) {
+        this.listVersionRepository = listVersionRepository;
+    }
+
+    // counted as each change is published; a before-commit listener would run once per change
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(1);
+            return;
+        }
+        AtomicLong pending = (AtomicLong) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            AtomicLong created = new AtomicLong();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    add(created.get());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeListVersionTracker.this);
+                }
+            });
+            pending = created;
+        }
+        pending.incrementAndGet();
+    }
+
+    // for writes that do not publish EmployeeChangedEvent, such as the seed generator
+    public void add(long changes) {
+        if (changes > 0 && listVersionRepository.add(changes) == 0) {
+            throw new IllegalStateException("employee_list_version has no row; the database is missing migration V3");
+        }
+    }
+}
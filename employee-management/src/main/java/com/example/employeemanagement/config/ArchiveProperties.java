@@ -0,0 +1,16 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    // how long an employee stays inactive in the hot table before it is archived
+    private Duration retention = Duration.ofDays(30);
+    // rows moved per transaction
+    private int batchSize = 1000;
+}
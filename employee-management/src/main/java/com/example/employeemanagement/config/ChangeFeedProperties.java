@@ -0,0 +1,18 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+    // most recent changes kept in memory; subscribers that are further behind read from the table
+    private int memoryCapacity = 10000;
+    private int pageSize = 500;
+    private Duration pollTimeout = Duration.ofSeconds(30);
+    private Duration maxPollTimeout = Duration.ofSeconds(60);
+    private Duration heartbeat = Duration.ofSeconds(15);
+    private Duration retention = Duration.ofDays(7);
+}
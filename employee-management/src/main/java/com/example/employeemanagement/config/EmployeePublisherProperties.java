@@ -0,0 +1,23 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.external.publish")
+public class EmployeePublisherProperties {
+    // enqueue every committed create/update, not only explicit publish requests
+    private boolean onChange = false;
+    private int queueCapacity = 10000;
+    private int batchSize = 100;
+    private Duration batchWindow = Duration.ofMillis(200);
+    // number of batches posted in parallel; each employee id always maps to the same lane
+    private int concurrency = 4;
+    private int maxRetries = 3;
+    private Duration retryBackoff = Duration.ofMillis(200);
+    private Duration maxRetryBackoff = Duration.ofSeconds(5);
+    private double retryJitter = 0.5;
+    private int deadLetterCapacity = 1000;
+}
@@ -0,0 +1,22 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.resilience.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ExternalResilienceProperties.class)
+public class ExternalResilienceConfig {
+    // separate limiters act as bulkheads: a burst of outbound posts cannot starve lookups and vice versa
+    @Bean
+    public AdaptiveConcurrencyLimiter externalReadLimiter(ExternalResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("read", properties.getReadLimiter(), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter externalWriteLimiter(ExternalResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("write", properties.getWriteLimiter(), meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.external.resilience")
+public class ExternalResilienceProperties {
+    private Limiter readLimiter = new Limiter();
+    private Limiter writeLimiter = new Limiter();
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Limiter {
+        private int initialLimit = 10;
+        private int minLimit = 2;
+        // keep below the connection pool size so shed requests never queue for a connection
+        private int maxLimit = 40;
+        private double backoffRatio = 0.9;
+        // a response slower than this multiple of the smoothed latency counts as overload
+        private double latencyTolerance = 2.0;
+        private double smoothing = 0.05;
+    }
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        private double jitter = 0.5;
+        // total time one request may spend on all attempts and backoffs
+        private Duration readBudget = Duration.ofSeconds(2);
+        private Duration writeBudget = Duration.ofSeconds(4);
+        // do not start another attempt with less time than this left
+        private Duration minAttemptTime = Duration.ofMillis(200);
+    }
+}
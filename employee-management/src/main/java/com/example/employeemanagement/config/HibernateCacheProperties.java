@@ -0,0 +1,23 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.hibernate-cache")
+public class HibernateCacheProperties {
+    private boolean enabled = true;
+    // keyed by region name; regions not listed (such as Hibernate's update timestamps) are created unbounded
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private long maxSize = 1000;
+        // expire entries this long after they were written, or never when unset
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.employeemanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactorConfig {
+    // blocking JPA calls made from reactive pipelines run here so they never block Netty or servlet threads;
+    // VirtualThreadConfig replaces it when virtual threads are enabled
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler blockingCallScheduler(@Value("${app.blocking-scheduler.thread-cap:50}") int threadCap,
+                                           @Value("${app.blocking-scheduler.queue-cap:1000}") int queueCap) {
+        return Schedulers.newBoundedElastic(threadCap, queueCap, "blocking-call");
+    }
+}
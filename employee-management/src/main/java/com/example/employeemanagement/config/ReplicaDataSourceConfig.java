@@ -0,0 +1,109 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.changes.EmployeeChangeLog;
+import com.example.employeemanagement.replica.LocalReplicaSync;
+import com.example.employeemanagement.replica.ReadYourWrites;
+import com.example.employeemanagement.replica.ReadYourWritesFilter;
+import com.example.employeemanagement.replica.ReplicaRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Active with app.datasource.replicas.enabled=true (see application-read-replica.properties). Replaces the
+// auto-configured pool with a primary pool for writes plus one pool per replica for readOnly transactions.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    private static final String READ_YOUR_WRITES_HOOK = "read-your-writes";
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties, ReplicaProperties properties,
+                                       Environment environment, MeterRegistry meterRegistry) {
+        if (properties.getInstances().isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled is set but no replica instances are configured");
+        }
+        HikariDataSource primary = pool(environment, meterRegistry, "primary", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), null);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getInstances().size(); i++) {
+            ReplicaProperties.Instance instance = properties.getInstances().get(i);
+            replicas.add(pool(environment, meterRegistry, "replica-" + (i + 1), instance.getUrl(),
+                    instance.getUsername(), instance.getPassword(), instance.getMaximumPoolSize()));
+        }
+        return new ReplicaRouter(primary, replicas, properties, meterRegistry);
+    }
+
+    // The only DataSource bean. A readOnly transaction marks its connection read-only when it begins, and the
+    // lazy proxy does not fetch a physical connection until the first statement, so by then the flag decides
+    // whether the connection comes from the primary or from the router's choice of replica.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRouter.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaRouter.getReadOnlyDataSource());
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesWindow());
+    }
+
+    // @Async tasks (through the auto-configured task executor) and work handed to Reactor schedulers, such as
+    // blockingCallScheduler, run with the last write of the thread that scheduled them, so a session's reads stay on
+    // the primary however they are dispatched. @Scheduled jobs do not act for a session and always start without one.
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReadYourWrites::wrap;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Disposable readYourWritesScheduleHook() {
+        Schedulers.onScheduleHook(READ_YOUR_WRITES_HOOK, ReadYourWrites::wrap);
+        return () -> Schedulers.resetOnScheduleHook(READ_YOUR_WRITES_HOOK);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replicas.local-sync.enabled", havingValue = "true")
+    public LocalReplicaSync localReplicaSync(ReplicaRouter replicaRouter, EmployeeChangeLog changeLog,
+                                             ObjectMapper objectMapper, ReplicaProperties properties) {
+        return new LocalReplicaSync(replicaRouter.getPrimary(), replicaRouter.getReplicas(), changeLog,
+                objectMapper, properties);
+    }
+
+    private static HikariDataSource pool(Environment environment, MeterRegistry meterRegistry, String name,
+                                         String url, String username, String password, Integer maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        // every pool starts from the usual spring.datasource.hikari.* settings
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (maximumPoolSize != null) {
+            pool.setMaximumPoolSize(maximumPoolSize);
+        }
+        // hikaricp.connections.* per pool, tagged with the pool name
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
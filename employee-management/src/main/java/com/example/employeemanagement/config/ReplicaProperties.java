@@ -0,0 +1,38 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private List<Instance> instances = new ArrayList<>();
+    // a session that wrote within this window reads from the primary
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    // replicas further behind than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(2);
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    private LocalSync localSync = new LocalSync();
+
+    @Data
+    public static class Instance {
+        private String url;
+        private String username;
+        private String password;
+        // defaults to spring.datasource.hikari.maximum-pool-size
+        private Integer maximumPoolSize;
+    }
+
+    // H2-only replication for running with replicas on a laptop, see LocalReplicaSync
+    @Data
+    public static class LocalSync {
+        private boolean enabled = false;
+        private Duration delay = Duration.ZERO;
+        private Duration interval = Duration.ofMillis(200);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.employeemanagement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SeedProperties.class)
+public class SeedConfig {
+}
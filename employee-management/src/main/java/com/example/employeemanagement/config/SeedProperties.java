@@ -0,0 +1,29 @@
+package com.example.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.seed")
+public class SeedProperties {
+    private boolean enabled = false;
+    private int count = 1000;
+    // longest reporting chain, counting the top-level managers
+    private int depth = 6;
+    // average number of direct reports; actual spans vary between 1 and 2 * fanOut - 1
+    private int fanOut = 6;
+    private int departments = 12;
+    // Zipf exponent for department sizes: 0 is uniform, 1 gives a few large departments and a long tail
+    private double departmentSkew = 1.0;
+    // chance that a report is in the same department as the manager instead of a random one
+    private double sameDepartmentRatio = 0.8;
+    private double inactiveRatio = 0.1;
+    // inactive employees left ACTIVE at a random point this far back at most
+    private Duration inactiveMaxAge = Duration.ofDays(60);
+    // same seed and settings always produce the same rows
+    private long seed = 42;
+    private int batchSize = 1000;
+    private int progressInterval = 100000;
+}
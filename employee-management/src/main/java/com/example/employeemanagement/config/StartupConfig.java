@@ -0,0 +1,41 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.changes.EmployeeChangeLog;
+import com.example.employeemanagement.publish.EmployeePublisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StartupConfig {
+    // Only matters with spring.main.lazy-initialization=true (fast-startup profile). The change log has to register
+    // its pruning schedule and sequence watermark before the first write, the publisher starts its pipeline on
+    // creation, and JPA stays eager so the first request does not pay for the Hibernate bootstrap.
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EmployeeChangeLog.class, EmployeePublisher.class,
+                DataSource.class, EntityManagerFactory.class);
+    }
+
+    // @Scheduled methods are only registered when their bean is created, so a scheduled bean that nothing injects
+    // would otherwise never run under lazy initialization
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        ReflectionUtils.MethodFilter scheduled = method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, Schedules.class);
+        return !MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType), scheduled).isEmpty();
+    }
+}
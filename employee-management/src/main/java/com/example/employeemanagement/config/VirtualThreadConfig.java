@@ -0,0 +1,48 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.jdbc.ConcurrencyLimitedDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Active with spring.threads.virtual.enabled=true on Java 21+ (see application-virtual-threads.properties).
+// Tomcat, @Async and @Scheduled switch to virtual threads through Spring Boot itself; this adds the pieces the
+// app owns: a virtual-thread scheduler for blocking calls made from Reactor, and a cap on database concurrency.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingCallScheduler() {
+        return Schedulers.fromExecutor(new VirtualThreadTaskExecutor("blocking-call-"));
+    }
+
+    @Bean
+    public static BeanPostProcessor databaseConcurrencyLimiter(Environment environment,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxConcurrency = environment.getProperty("app.db.max-concurrency", Integer.class, 20);
+        Duration acquireTimeout = environment.getProperty("app.db.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout,
+                            meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+                }
+                return bean;
+            }
+        };
+    }
+}
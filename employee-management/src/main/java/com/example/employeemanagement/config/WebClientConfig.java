@@ -1,23 +1,46 @@
 package com.example.employeemanagement.config;
 
 import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
-
-import java.time.Duration;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties({ExternalHttpClientProperties.class, EmployeePublisherProperties.class})
 public class WebClientConfig {
+    public static final String CONNECTION_POOL_NAME = "external-service";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalConnectionProvider(ExternalHttpClientProperties properties) {
+        return ConnectionProvider.builder(CONNECTION_POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true) // active, idle and pending counts under reactor.netty.connection.provider.*
+                .build();
+    }
+
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 3000) // 3s connect timeout
-                .responseTimeout(Duration.ofSeconds(3)) ;           // 3s response timeout
-        return WebClient.builder()
+    public WebClient webClient(WebClient.Builder builder, ConnectionProvider externalConnectionProvider,
+                               ExternalHttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(externalConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .keepAlive(properties.isKeepAlive())
+                .compress(properties.isCompression());
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return builder
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.changes.EmployeeChangeLog;
+import com.example.employeemanagement.config.ChangeFeedProperties;
+import com.example.employeemanagement.dto.ChangeBatchDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+@Tag(name = "Employee Change Feed API", description = "Incremental sync of employee changes")
+public class EmployeeChangeController {
+
+    private final EmployeeChangeLog changeLog;
+    private final ChangeFeedProperties properties;
+
+    @Operation(summary = "Long-poll for employee changes after a sequence number")
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ChangeBatchDTO> pollChanges(@RequestParam(defaultValue = "0") long since,
+                                            @RequestParam(defaultValue = "0") int limit,
+                                            @RequestParam(required = false) Duration timeout) {
+        Duration wait = timeout != null ? timeout : properties.getPollTimeout();
+        if (wait.compareTo(properties.getMaxPollTimeout()) > 0) {
+            wait = properties.getMaxPollTimeout();
+        }
+        return changeLog.poll(since, limit, wait.isNegative() ? Duration.ZERO : wait);
+    }
+
+    @Operation(summary = "Stream employee changes as server-sent events")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(@RequestParam(required = false) Long since,
+                                                       @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        long from = resumeFrom(since, lastEventId);
+        if (changeLog.requiresResync(from)) {
+            return Flux.just(ServerSentEvent.<Object>builder()
+                    .event("resync")
+                    .data(changeLog.getPublished())
+                    .build());
+        }
+        Flux<ServerSentEvent<Object>> changes = changeLog.stream(from)
+                .map(change -> ServerSentEvent.<Object>builder()
+                        .id(String.valueOf(change.getSeq()))
+                        .event(change.getType())
+                        .data(change)
+                        .build());
+        // keeps idle connections from being closed by proxies
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(properties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<Object>builder().comment("keepalive").build());
+        return Flux.merge(changes, heartbeats);
+    }
+
+    // browsers reconnect with Last-Event-ID, which wins over the original query parameter
+    private long resumeFrom(Long since, String lastEventId) {
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Last-Event-ID must be a change sequence number");
+            }
+        }
+        return since != null ? since : changeLog.getPublished();
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
+import com.example.employeemanagement.exception.EmployeeVersionConflictException;
 import com.example.employeemanagement.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -29,11 +38,41 @@ public class EmployeeController {
         }
     }
 
+    @Operation(summary = "Create employees in bulk")
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createEmployees(@RequestBody List<EmployeeDTO> employeeDTOs) {
+        try {
+            return ResponseEntity.ok(employeeService.createEmployees(employeeDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Update employees in bulk")
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateEmployees(@RequestBody List<EmployeeDTO> employeeDTOs) {
+        try {
+            return ResponseEntity.ok(employeeService.updateEmployees(employeeDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
     @Operation(summary = "Get employee by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEmployee(@PathVariable Long id) {
+    public ResponseEntity<?> getEmployee(@PathVariable Long id, WebRequest request) {
         try {
-            return ResponseEntity.ok(employeeService.getEmployeeById(id));
+            // answer a revalidation from the version column alone, before any mapping or serialization
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && request.checkNotModified(String.valueOf(employeeService.getEmployeeVersion(id)))) {
+                return null;
+            }
+            EmployeeDTO employee = employeeService.getEmployeeById(id);
+            return ResponseEntity.ok().eTag(String.valueOf(employee.getVersion())).body(employee);
         } catch (EmployeeNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (DataAccessException e) {
@@ -43,11 +82,20 @@ public class EmployeeController {
 
     @Operation(summary = "Update employee")
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody EmployeeDTO employeeDTO) {
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @RequestBody EmployeeDTO employeeDTO) {
         try {
-            return ResponseEntity.ok(employeeService.updateEmployee(id, employeeDTO));
+            EmployeeDTO updated = employeeService.updateEmployee(id, employeeDTO, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(updated.getVersion())).body(updated);
         } catch (EmployeeNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (EmployeeVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            // lost a race with another writer between our read and the versioned update
+            HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body("Employee " + id + " was modified concurrently");
         } catch (DataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
         }
@@ -68,9 +116,14 @@ public class EmployeeController {
 
     @Operation(summary = "Get all employees")
     @GetMapping
-    public ResponseEntity<?> getAllEmployees() {
+    public ResponseEntity<?> getAllEmployees(WebRequest request) {
         try {
-            return ResponseEntity.ok(employeeService.getAllEmployees());
+            // read the tag before the list so a concurrent write can only make the tag stale, never the body
+            String eTag = employeeService.getEmployeesVersion();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(eTag).body(employeeService.getAllEmployees());
         } catch (EmployeeNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (DataAccessException e) {
@@ -78,11 +131,104 @@ public class EmployeeController {
         }
     }
 
-    @Operation(summary = "Search with name of the employee")
+    @Operation(summary = "Get active employees page by page using a cursor")
+    @GetMapping("/page")
+    public ResponseEntity<?> getEmployeesPage(@RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String after) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesPage(limit, after));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Filter employees by department, status, salary range, manager and email domain")
+    @GetMapping("/query")
+    public ResponseEntity<?> queryEmployees(@ModelAttribute EmployeeFilterDTO filter) {
+        try {
+            return ResponseEntity.ok(employeeService.queryEmployees(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Export all active employees as newline-delimited JSON or CSV")
+    @GetMapping("/export")
+    // typed as StreamingResponseBody so MVC writes it asynchronously instead of looking for a message converter
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        MediaType mediaType;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            mediaType = MediaType.APPLICATION_NDJSON;
+        } else if ("csv".equalsIgnoreCase(format)) {
+            mediaType = new MediaType("text", "csv");
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        StreamingResponseBody body = outputStream -> employeeService.exportEmployees(format, outputStream);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    @Operation(summary = "Get headcount and salary statistics per department")
+    @GetMapping("/stats")
+    public ResponseEntity<?> getDepartmentStats() {
+        try {
+            return ResponseEntity.ok(employeeService.getDepartmentStats());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Get salary percentiles per department, optionally for one status")
+    @GetMapping("/analytics/salary-percentiles")
+    public ResponseEntity<?> getSalaryPercentiles(@RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) List<Double> percentiles) {
+        try {
+            return ResponseEntity.ok(employeeService.getSalaryPercentiles(status, percentiles));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Get the managers whose direct reports have the highest total salary")
+    @GetMapping("/analytics/manager-totals")
+    public ResponseEntity<?> getManagerSalaryTotals(@RequestParam(required = false) String status,
+                                                    @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getManagerSalaryTotals(status, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Get the salary distribution in fixed-width buckets")
+    @GetMapping("/analytics/salary-distribution")
+    public ResponseEntity<?> getSalaryDistribution(@RequestParam(required = false) String department,
+                                                   @RequestParam(required = false) String status,
+                                                   @RequestParam(required = false) Double bucketWidth) {
+        try {
+            return ResponseEntity.ok(employeeService.getSalaryDistribution(department, status, bucketWidth));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataAccessException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
+        }
+    }
+
+    @Operation(summary = "Search employees by name, email or department")
     @GetMapping("/search/{name}")
-    public ResponseEntity<?> searchEmployees(@PathVariable String name) {
+    public ResponseEntity<?> searchEmployees(@PathVariable String name,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(defaultValue = "false") boolean prefix) {
         try {
-            return ResponseEntity.ok(employeeService.searchEmployee(name));
+            return ResponseEntity.ok(employeeService.searchEmployee(name, limit, prefix));
         } catch (EmployeeNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (DataAccessException e) {
@@ -101,4 +247,50 @@ public class EmployeeController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error occurred");
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get every active employee below a manager, optionally limited to a depth")
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<?> getOrgSubtree(@PathVariable Long id, @RequestParam(required = false) Integer depth) {
+        try {
+            return ResponseEntity.ok(employeeService.getOrgSubtree(id, depth));
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get the reporting chain from an employee up to the top of the org")
+    @GetMapping("/{id}/chain")
+    public ResponseEntity<?> getReportingChain(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(employeeService.getReportingChain(id));
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get headcount and salary totals for a manager's org")
+    @GetMapping("/{id}/rollup")
+    public ResponseEntity<?> getOrgRollup(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(employeeService.getOrgRollup(id));
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // If-Match: "<version>" or *; anything else cannot match a strong version tag
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new EmployeeVersionConflictException("If-Match does not name a version of this employee: " + ifMatch);
+        }
+    }
+}
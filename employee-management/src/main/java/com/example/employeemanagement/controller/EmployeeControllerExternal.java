@@ -1,18 +1,30 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.DeadLetterDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.PublishResultDTO;
+import com.example.employeemanagement.exception.ConcurrencyLimitExceededException;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
 import com.example.employeemanagement.exception.ExternalConnectTimeoutException;
 import com.example.employeemanagement.exception.ExternalReadTimeoutException;
+import com.example.employeemanagement.publish.DeadLetterStore;
+import com.example.employeemanagement.publish.EmployeePublisher;
 import com.example.employeemanagement.service.EmployeeService;
 import com.example.employeemanagement.service.EmployeeServiceExternal;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -22,27 +34,78 @@ public class EmployeeControllerExternal {
 
     private final EmployeeServiceExternal employeeServiceExternal;
     private final EmployeeService employeeService;
+    private final Scheduler blockingCallScheduler;
+    private final EmployeePublisher employeePublisher;
+    private final DeadLetterStore deadLetterStore;
 
     @Operation(summary = "Fetch external info for employee")
     @GetMapping("/external/{id}")
-    public ResponseEntity<?> fetchExternal(@PathVariable String id) {
-        try {
-            return ResponseEntity.ok(employeeServiceExternal.fetchExternalInfo(id));
-        } catch (ResourceAccessException | ExternalReadTimeoutException | ExternalConnectTimeoutException e) {
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
-        }
+    public Mono<ResponseEntity<String>> fetchExternal(@PathVariable String id) {
+        return employeeServiceExternal.fetchExternalInfo(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(this::isUnavailable, e -> Mono.just(unavailable(e)));
     }
 
     @Operation(summary = "Send employee data to external service by employee ID")
     @PostMapping("/external/{id}")
-    public ResponseEntity<?> postExternal(@PathVariable("id") Long employeeId) {
-        try {
-            EmployeeDTO employeeDTO = employeeService.getEmployeeById(employeeId);
-            return ResponseEntity.ok(employeeServiceExternal.postEmpoyeeToExternal(employeeDTO));
-        } catch (EmployeeNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (ExternalReadTimeoutException | ExternalConnectTimeoutException | ResourceAccessException e) {
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
-        }
+    public Mono<ResponseEntity<String>> postExternal(@PathVariable("id") Long employeeId) {
+        return Mono.fromCallable(() -> employeeService.getEmployeeById(employeeId))
+                .subscribeOn(blockingCallScheduler)
+                .flatMap(employeeServiceExternal::postEmpoyeeToExternal)
+                .map(ResponseEntity::ok)
+                .onErrorResume(EmployeeNotFoundException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage())))
+                .onErrorResume(this::isUnavailable, e -> Mono.just(unavailable(e)));
+    }
+
+    @Operation(summary = "Queue employees for batched delivery to the external service")
+    @PostMapping("/external/publish")
+    public Mono<ResponseEntity<?>> publishExternal(@RequestBody List<Long> employeeIds) {
+        return Mono.fromCallable(() -> employeeService.getEmployeesByIds(employeeIds))
+                .subscribeOn(blockingCallScheduler)
+                .<ResponseEntity<?>>map(employees -> {
+                    Set<Long> found = new HashSet<>();
+                    int accepted = 0;
+                    for (EmployeeDTO employee : employees) {
+                        found.add(employee.getId());
+                        if (employeePublisher.publish(employee)) {
+                            accepted++;
+                        }
+                    }
+                    PublishResultDTO result = PublishResultDTO.builder()
+                            .requested(employeeIds.size())
+                            .accepted(accepted)
+                            .rejected(employees.size() - accepted)
+                            .notFound(employeeIds.stream().filter(id -> !found.contains(id)).distinct().toList())
+                            .build();
+                    // nothing fit into the queue: tell the caller to back off
+                    HttpStatus status = accepted == 0 && !employees.isEmpty() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.ACCEPTED;
+                    return ResponseEntity.status(status).body(result);
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+    }
+
+    @Operation(summary = "List batches that could not be delivered to the external service")
+    @GetMapping("/external/dead-letters")
+    public ResponseEntity<List<DeadLetterDTO>> getDeadLetters() {
+        return ResponseEntity.ok(deadLetterStore.list());
+    }
+
+    @Operation(summary = "Queue all dead-lettered employees for another delivery attempt")
+    @PostMapping("/external/dead-letters/replay")
+    public ResponseEntity<Integer> replayDeadLetters() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(employeePublisher.replayDeadLetters());
+    }
+
+    private boolean isUnavailable(Throwable e) {
+        return e instanceof ExternalReadTimeoutException
+                || e instanceof ExternalConnectTimeoutException
+                || e instanceof WebClientRequestException
+                || e instanceof CallNotPermittedException
+                || e instanceof ConcurrencyLimitExceededException;
+    }
+
+    private ResponseEntity<String> unavailable(Throwable e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
     }
-}
\ No newline at end of file
+}
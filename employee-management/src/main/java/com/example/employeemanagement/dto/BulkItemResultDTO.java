@@ -0,0 +1,14 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDTO {
+    private int index;
+    private Long id;
+    private boolean success;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeBatchDTO {
+    private List<EmployeeChangeDTO> changes;
+    // pass back as `since` on the next call
+    private long nextSince;
+    // the requested position was pruned: reload the full list, then continue from nextSince
+    private boolean resyncRequired;
+}
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterDTO {
+    private List<EmployeeDTO> employees;
+    private String error;
+    private int attempts;
+    private Instant failedAt;
+}
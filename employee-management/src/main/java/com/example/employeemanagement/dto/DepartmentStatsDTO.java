@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentStatsDTO {
+    private String department;
+    private long headcount;
+    private long activeCount;
+    private long inactiveCount;
+    private double totalSalary;
+    private double averageSalary;
+    private Double minSalary;
+    private Double maxSalary;
+}
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeChangeDTO {
+    private Long seq;
+    private String type;
+    private Long employeeId;
+    private EmployeeDTO employee;
+    private Instant changedAt;
+}
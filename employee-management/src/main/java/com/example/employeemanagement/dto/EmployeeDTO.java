@@ -6,7 +6,7 @@ import lombok.*;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class EmployeeDTO {
     private Long id;
     private String name;
@@ -16,4 +16,5 @@ public class EmployeeDTO {
     private Double salary;
     private String status;
     private Long managerId;
+    private Long version;
 }
\ No newline at end of file
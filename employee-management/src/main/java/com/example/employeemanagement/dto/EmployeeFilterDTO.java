@@ -0,0 +1,40 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+import org.springframework.data.domain.Sort;
+
+// query parameters of GET /api/employees/query; unset fields do not filter
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeFilterDTO {
+    public enum SortField {
+        ID("id"), NAME("name"), DEPARTMENT("department"), SALARY("salary");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+    }
+
+    private String department;
+    private String status;
+    private Double minSalary;
+    private Double maxSalary;
+    private Long managerId;
+    // matched against the part after '@', case-insensitively
+    private String emailDomain;
+    @Builder.Default
+    private SortField sort = SortField.ID;
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+    @Builder.Default
+    private int page = 0;
+    private Integer size;
+}
@@ -0,0 +1,14 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeePageDTO {
+    private List<EmployeeDTO> content;
+    private String nextCursor;
+}
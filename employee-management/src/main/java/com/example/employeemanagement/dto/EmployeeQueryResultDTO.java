@@ -0,0 +1,16 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeQueryResultDTO {
+    private List<EmployeeDTO> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
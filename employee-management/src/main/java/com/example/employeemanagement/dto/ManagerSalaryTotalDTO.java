@@ -0,0 +1,13 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ManagerSalaryTotalDTO {
+    private Long managerId;
+    private long directReports;
+    private double totalSalary;
+}
@@ -0,0 +1,15 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrgRollupDTO {
+    private Long managerId;
+    private long directReports;
+    private long headcount;
+    private double totalSalary;
+    private int depth;
+}
@@ -0,0 +1,16 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PublishResultDTO {
+    private int requested;
+    private int accepted;
+    private int rejected;
+    private List<Long> notFound;
+}
@@ -0,0 +1,14 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryBucketDTO {
+    // lower bound inclusive, upper bound exclusive
+    private double lowerBound;
+    private double upperBound;
+    private long count;
+}
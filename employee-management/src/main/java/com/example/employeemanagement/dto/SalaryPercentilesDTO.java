@@ -0,0 +1,19 @@
+package com.example.employeemanagement.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryPercentilesDTO {
+    private String department;
+    private long count;
+    private double minSalary;
+    private double maxSalary;
+    private double averageSalary;
+    // keyed by percentile name, e.g. p50, p99.9
+    private Map<String, Double> percentiles;
+}
@@ -0,0 +1,18 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final ChangeType type;
+    // state before the change, null for CREATED
+    private final EmployeeDTO previous;
+    private final EmployeeDTO employee;
+}
@@ -0,0 +1,20 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// employees moved from the hot table to the archive in one committed chunk, as they were when archived
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeesArchivedEvent {
+    private final List<EmployeeDTO> employees;
+
+    public List<Long> getIds() {
+        return employees.stream().map(EmployeeDTO::getId).toList();
+    }
+}
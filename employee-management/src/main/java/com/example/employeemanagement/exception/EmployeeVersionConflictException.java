@@ -0,0 +1,7 @@
+package com.example.employeemanagement.exception;
+
+public class EmployeeVersionConflictException extends RuntimeException {
+    public EmployeeVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,457 @@
+package com.example.employeemanagement.hierarchy;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.OrgRollupDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Parent links and the salary/status needed for rollups, one slot per employee in parallel primitive arrays sorted by
+// id: under 40 bytes per employee with the layout, instead of a DTO plus a set entry. Direct reports are a CSR layout
+// (the reports of slot i are slots children[childStart[i]] to children[childStart[i + 1] - 1]) derived from the parent
+// links. A change updates its own slot in place; a new employee is appended after the sorted slots, and a report that
+// joins a manager goes on that manager's short list of added reports, while one that leaves is skipped because its
+// parent link no longer points back. Once enough of these pile up the next query merges them into a fresh layout,
+// which also drops the slots of archived employees. Rows returned to callers are loaded by id, so they are current
+// and never shared.
+@Component
+@RequiredArgsConstructor
+public class OrgChartIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrgChartIndex.class);
+
+    private static final long NO_MANAGER = 0;
+    private static final int[] NONE = new int[0];
+    private static final byte ACTIVE = 1;
+    private static final byte REMOVED = 2;
+    // changes kept outside the CSR layout before a query merges them, at least this many or one per 16 employees
+    private static final int MIN_PENDING = 1024;
+
+    private final EmployeeRepository employeeRepository;
+
+    private long[] ids = new long[16];
+    private long[] managerIds = new long[16];
+    private double[] salaries = new double[16];
+    private byte[] flags = new byte[16];
+    // slot of each employee's manager, -1 for none
+    private int[] parents = new int[16];
+    private int size;
+    private int removed;
+
+    // slots below sortedSize are in id order and covered by the CSR layout; later ones were appended since
+    private int sortedSize;
+    private final Map<Long, Integer> appended = new HashMap<>();
+    private int[] childStart = new int[1];
+    private int[] children = new int[0];
+    // slots that became reports of a manager since the last layout, in id order; some may have moved on again
+    private final Map<Integer, int[]> addedReports = new HashMap<>();
+    private int pending;
+    private boolean layoutStale = true;
+
+    // ReentrantReadWriteLock so the JDBC streaming in rebuild() does not pin a carrier thread
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int employees;
+        lock.writeLock().lock();
+        try {
+            // queries that arrived before startup finished each ask for a build; the first one does it
+            if (ready) {
+                return;
+            }
+            size = 0;
+            removed = 0;
+            sortedSize = 0;
+            appended.clear();
+            // rows arrive in id order, so they fill the sorted slots directly
+            try (Stream<EmployeeDTO> rows = employeeRepository.streamAll()) {
+                rows.forEach(row -> {
+                    int slot = appendSlot(row.getId());
+                    update(slot, row);
+                    sortedSize = size;
+                });
+            }
+            appended.clear();
+            layout();
+            resize(Math.max(size, 16));
+            employees = size;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Org chart index built with {} employees in {} ms",
+                employees, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        put(event.getEmployee());
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesArchived(EmployeesArchivedEvent event) {
+        remove(event.getIds());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(Long id) {
+        lock.readLock().lock();
+        try {
+            return slot(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(EmployeeDTO employee) {
+        lock.writeLock().lock();
+        try {
+            add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> employeeIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : employeeIds) {
+                int slot = slot(id);
+                if (slot >= 0) {
+                    flags[slot] = REMOVED;
+                    removed++;
+                    pending++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // active employees below the manager in breadth-first order; inactive employees are walked through but not returned
+    public List<EmployeeDTO> subtree(Long managerId, int maxDepth) {
+        List<Long> result = new ArrayList<>();
+        lockForQuery();
+        try {
+            int root = slot(managerId);
+            if (root < 0) {
+                return Collections.emptyList();
+            }
+            walk(root, maxDepth, (slot, depth) -> {
+                if (flags[slot] == ACTIVE) {
+                    result.add(ids[slot]);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return employeeRepository.findDtosInOrder(result);
+    }
+
+    // the employee followed by each manager up to the root
+    public List<EmployeeDTO> chain(Long id) {
+        List<Long> result = new ArrayList<>();
+        lockForQuery();
+        try {
+            // a manager cycle cannot be longer than the number of employees
+            for (int slot = slot(id); slot >= 0 && result.size() <= size; slot = parents[slot]) {
+                result.add(ids[slot]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return employeeRepository.findDtosInOrder(result);
+    }
+
+    public OrgRollupDTO rollup(Long managerId) {
+        long[] directReports = {0};
+        long[] headcount = {0};
+        double[] totalSalary = {0};
+        int[] deepest = {0};
+        lockForQuery();
+        try {
+            int root = slot(managerId);
+            if (root >= 0) {
+                walk(root, 1, (slot, depth) -> {
+                    if (flags[slot] == ACTIVE) {
+                        directReports[0]++;
+                    }
+                });
+                walk(root, 0, (slot, depth) -> {
+                    if (flags[slot] == ACTIVE) {
+                        headcount[0]++;
+                        totalSalary[0] += salaries[slot];
+                    }
+                    deepest[0] = Math.max(deepest[0], depth);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return OrgRollupDTO.builder()
+                .managerId(managerId)
+                .directReports(directReports[0])
+                .headcount(headcount[0])
+                .totalSalary(totalSalary[0])
+                .depth(deepest[0])
+                .build();
+    }
+
+    // breadth-first, up to maxDepth levels below the root (0 for all)
+    private void walk(int root, int maxDepth, SlotVisitor visitor) {
+        BitSet visited = new BitSet(size);
+        visited.set(root);
+        int[] level = {root};
+        int levelSize = 1;
+        for (int depth = 1; levelSize > 0 && (maxDepth <= 0 || depth <= maxDepth); depth++) {
+            int[] next = new int[16];
+            int nextSize = 0;
+            for (int i = 0; i < levelSize; i++) {
+                int parent = level[i];
+                // the parent's reports from the layout and those added since, merged in id order
+                int c = parent < sortedSize ? childStart[parent] : 0;
+                int end = parent < sortedSize ? childStart[parent + 1] : 0;
+                int[] added = addedReports.getOrDefault(parent, NONE);
+                int a = 0;
+                while (c < end || a < added.length) {
+                    int child = a == added.length || c < end && ids[children[c]] <= ids[added[a]]
+                            ? children[c++]
+                            : added[a++];
+                    // reports that moved to another manager or were archived since the layout
+                    if (parents[child] != parent || flags[child] == REMOVED || visited.get(child)) {
+                        continue;
+                    }
+                    visited.set(child);
+                    visitor.visit(child, depth);
+                    if (nextSize == next.length) {
+                        next = Arrays.copyOf(next, nextSize * 2);
+                    }
+                    next[nextSize++] = child;
+                }
+            }
+            level = next;
+            levelSize = nextSize;
+        }
+    }
+
+    // takes the read lock, first merging the changes into a new CSR layout under the write lock once enough piled up
+    private void lockForQuery() {
+        lock.readLock().lock();
+        if (!needsLayout()) {
+            return;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (needsLayout()) {
+                layout();
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(EmployeeDTO employee) {
+        // a removed slot is reused when the employee comes back
+        int slot = find(employee.getId());
+        boolean created = slot < 0;
+        if (created) {
+            slot = appendSlot(employee.getId());
+            appended.put(employee.getId(), slot);
+            pending++;
+        }
+        long managerId = managerIds[slot];
+        boolean restored = flags[slot] == REMOVED;
+        update(slot, employee);
+        if (restored) {
+            removed--;
+        }
+        if (created || restored || managerIds[slot] != managerId) {
+            link(slot);
+        }
+    }
+
+    private void update(int slot, EmployeeDTO employee) {
+        managerIds[slot] = employee.getManagerId() != null ? employee.getManagerId() : NO_MANAGER;
+        salaries[slot] = employee.getSalary() != null ? employee.getSalary() : 0;
+        flags[slot] = "ACTIVE".equals(employee.getStatus()) ? ACTIVE : 0;
+    }
+
+    // points the slot at its manager and lists it among the manager's added reports; a manager the index has not
+    // seen yet leaves the link to the next layout
+    private void link(int slot) {
+        int parent = managerIds[slot] == NO_MANAGER ? -1 : slot(managerIds[slot]);
+        parents[slot] = parent;
+        if (managerIds[slot] != NO_MANAGER && parent < 0) {
+            layoutStale = true;
+            return;
+        }
+        if (parent >= 0) {
+            int[] added = addedReports.getOrDefault(parent, NONE);
+            int at = insertionPoint(added, ids[slot]);
+            if (at < added.length && added[at] == slot) {
+                return;
+            }
+            int[] grown = new int[added.length + 1];
+            System.arraycopy(added, 0, grown, 0, at);
+            grown[at] = slot;
+            System.arraycopy(added, at, grown, at + 1, added.length - at);
+            addedReports.put(parent, grown);
+            pending++;
+        }
+    }
+
+    private int insertionPoint(int[] slots, long id) {
+        int low = 0;
+        int high = slots.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[slots[mid]] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int appendSlot(long id) {
+        if (size == ids.length) {
+            resize(size + (size >> 1) + 1);
+        }
+        ids[size] = id;
+        flags[size] = 0;
+        parents[size] = -1;
+        return size++;
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        managerIds = Arrays.copyOf(managerIds, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+    }
+
+    private boolean needsLayout() {
+        return layoutStale || pending > Math.max(MIN_PENDING, sortedSize >> 4);
+    }
+
+    private int slot(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        int slot = find(id);
+        return slot >= 0 && flags[slot] != REMOVED ? slot : -1;
+    }
+
+    // including removed slots
+    private int find(long id) {
+        int slot = Arrays.binarySearch(ids, 0, sortedSize, id);
+        if (slot >= 0) {
+            return slot;
+        }
+        Integer appendedSlot = appended.get(id);
+        return appendedSlot != null ? appendedSlot : -1;
+    }
+
+    // merges the appended slots into id order and drops removed ones, then counts reports per manager and places
+    // them by a counting sort, so each manager's reports stay in id order
+    private void layout() {
+        if (size > sortedSize || removed > 0) {
+            int[] slots = liveSlotsInIdOrder();
+            int capacity = Math.max(slots.length, 16);
+            long[] sortedIds = new long[capacity];
+            long[] sortedManagerIds = new long[capacity];
+            double[] sortedSalaries = new double[capacity];
+            byte[] sortedFlags = new byte[capacity];
+            for (int i = 0; i < slots.length; i++) {
+                sortedIds[i] = ids[slots[i]];
+                sortedManagerIds[i] = managerIds[slots[i]];
+                sortedSalaries[i] = salaries[slots[i]];
+                sortedFlags[i] = flags[slots[i]];
+            }
+            ids = sortedIds;
+            managerIds = sortedManagerIds;
+            salaries = sortedSalaries;
+            flags = sortedFlags;
+            parents = new int[capacity];
+            size = slots.length;
+            removed = 0;
+        }
+        sortedSize = size;
+        appended.clear();
+        addedReports.clear();
+        pending = 0;
+        childStart = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int parent = managerIds[i] == NO_MANAGER ? -1 : Arrays.binarySearch(ids, 0, size, managerIds[i]);
+            parents[i] = parent >= 0 ? parent : -1;
+            if (parent >= 0) {
+                childStart[parent + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        children = new int[childStart[size]];
+        int[] fill = Arrays.copyOf(childStart, size);
+        for (int i = 0; i < size; i++) {
+            if (parents[i] >= 0) {
+                children[fill[parents[i]]++] = i;
+            }
+        }
+        layoutStale = false;
+    }
+
+    // the sorted slots merged with the appended ones, which are few and sorted first, skipping removed slots
+    private int[] liveSlotsInIdOrder() {
+        int[] tail = appended.values().stream()
+                .filter(slot -> flags[slot] != REMOVED)
+                .sorted(Comparator.comparingLong(slot -> ids[slot]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] result = new int[size - removed];
+        int n = 0;
+        int t = 0;
+        for (int i = 0; i < sortedSize; i++) {
+            if (flags[i] == REMOVED) {
+                continue;
+            }
+            while (t < tail.length && ids[tail[t]] < ids[i]) {
+                result[n++] = tail[t++];
+            }
+            result[n++] = i;
+        }
+        while (t < tail.length) {
+            result[n++] = tail[t++];
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface SlotVisitor {
+        void visit(int slot, int depth);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Inactive employees moved out of the hot employee table by EmployeeArchiver. The id is the one the employee had in
+// the hot table; manager_id is a plain column because the manager may still be in the hot table or archived too.
+@Entity
+@Table(name = "employee_archive", indexes = @Index(name = "idx_employee_archive_manager", columnList = "manager_id"))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedEmployee {
+    @Id
+    private Long id;
+    private String name;
+    private String department;
+    private String email;
+    private Double salary;
+    private String status;
+    @Column(name = "manager_id")
+    private Long managerId;
+    private Long version;
+    @Column(name = "inactive_since")
+    private Instant inactiveSince;
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
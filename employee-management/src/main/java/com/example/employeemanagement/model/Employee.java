@@ -1,9 +1,26 @@
 package com.example.employeemanagement.model;
 
+import com.example.employeemanagement.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.Instant;
 
 @Entity
+// composite indexes follow the filter combinations of /api/employees/query: equality columns first, then the range
+@Table(indexes = {
+        @Index(name = "idx_employee_status_id", columnList = "status, id"),
+        @Index(name = "idx_employee_status_salary", columnList = "status, salary"),
+        @Index(name = "idx_employee_department_status_salary", columnList = "department, status, salary"),
+        @Index(name = "idx_employee_manager_status", columnList = "manager_id, status"),
+        @Index(name = "idx_employee_status_inactive_since", columnList = "status, inactive_since")
+})
+// READ_WRITE keeps the cached copy in step with writes made through Hibernate; anything writing the table with plain
+// JDBC bypasses the cache and has to evict what it touched (the seeder only fills an empty table before startup ends)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.EMPLOYEE_REGION)
 @Getter
 @Setter
 @ToString(exclude = "manager")
@@ -12,14 +29,21 @@ import lombok.*;
 @Builder
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String department;
     private String email;
     private Double salary;
     private String status;
-    @ManyToOne
+    // when the employee last became INACTIVE, null otherwise; migration V4 dated the rows that were inactive before
+    @Column(name = "inactive_since")
+    private Instant inactiveSince;
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id")
     private Employee manager;
-}
\ No newline at end of file
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,49 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// append-only change log; seq is the position consumers resume from, handed out from employee_change_counter by
+// EmployeeChangeLog, so a new row is always inserted rather than merged
+@Entity
+@Table(name = "employee_change", indexes = @Index(name = "idx_employee_change_changed_at", columnList = "changed_at"))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeChange implements Persistable<Long> {
+    @Id
+    private Long seq;
+    @Column(nullable = false)
+    private Long employeeId;
+    @Column(nullable = false, length = 16)
+    private String type;
+    // EmployeeDTO as JSON: the new state, or the last state for a delete
+    @Column(nullable = false, length = 2000)
+    private String payload;
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+    @Transient
+    private boolean stored;
+
+    @Override
+    public Long getId() {
+        return seq;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
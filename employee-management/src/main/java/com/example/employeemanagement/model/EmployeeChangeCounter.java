@@ -0,0 +1,23 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Single row holding the last change log seq handed out. A writer bumps it just before it commits and holds the row
+// lock until then, so seqs are handed out in commit order across every instance and a rolled back one is reused.
+@Entity
+@Table(name = "employee_change_counter")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeChangeCounter {
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+    @Column(nullable = false)
+    private long lastSeq;
+}
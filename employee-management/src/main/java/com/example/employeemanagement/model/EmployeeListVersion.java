@@ -0,0 +1,23 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Single row counting every employee change ever committed; the collection ETag. Each write transaction adds its
+// changes just before it commits, so the value only moves forward and a reader sees it move with the rows it covers.
+@Entity
+@Table(name = "employee_list_version")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeListVersion {
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,72 @@
+package com.example.employeemanagement.publish;
+
+import com.example.employeemanagement.config.EmployeePublisherProperties;
+import com.example.employeemanagement.dto.DeadLetterDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// batches that failed every retry; bounded, so the oldest are dropped during a long outage
+@Component
+public class DeadLetterStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterStore.class);
+
+    private final Deque<DeadLetterDTO> letters = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final Counter dropped;
+
+    public DeadLetterStore(EmployeePublisherProperties properties, MeterRegistry meterRegistry) {
+        this.capacity = properties.getDeadLetterCapacity();
+        Gauge.builder("employee.publish.dead-letters", size, AtomicInteger::get)
+                .description("Batches waiting in the dead-letter store")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("employee.publish.dead-letters.dropped")
+                .description("Dead-lettered batches discarded because the store was full")
+                .register(meterRegistry);
+    }
+
+    public void add(List<EmployeeDTO> employees, Throwable cause, int attempts) {
+        letters.addLast(DeadLetterDTO.builder()
+                .employees(employees)
+                .error(cause.toString())
+                .attempts(attempts)
+                .failedAt(Instant.now())
+                .build());
+        if (size.incrementAndGet() > capacity && letters.pollFirst() != null) {
+            size.decrementAndGet();
+            dropped.increment();
+            logger.warn("Dead-letter store is full, dropped the oldest batch");
+        }
+    }
+
+    public List<DeadLetterDTO> list() {
+        return new ArrayList<>(letters);
+    }
+
+    public List<DeadLetterDTO> drain() {
+        List<DeadLetterDTO> drained = new ArrayList<>();
+        DeadLetterDTO letter;
+        while ((letter = letters.pollFirst()) != null) {
+            size.decrementAndGet();
+            drained.add(letter);
+        }
+        return drained;
+    }
+
+    public int size() {
+        return size.get();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.employeemanagement.publish;
+
+import com.example.employeemanagement.config.EmployeePublisherProperties;
+import com.example.employeemanagement.dto.DeadLetterDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeServiceExternal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Employees are spread over `concurrency` lanes by id, so every update for one employee goes through the same lane.
+// A lane posts its batches one at a time and retries a failed batch before moving on, which keeps per-employee
+// ordering while the lanes themselves run in parallel. An employee who is no longer active goes out as a tombstone:
+// id, version and status only, so the external service drops its copy instead of keeping stale personal data.
+@Component
+public class EmployeePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeePublisher.class);
+
+    private final EmployeeServiceExternal employeeServiceExternal;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeePublisherProperties properties;
+    private final DeadLetterStore deadLetterStore;
+    private final Sinks.Many<Pending> queue;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter published;
+    private final Counter deadLettered;
+    private final Counter retries;
+    private final Timer batchSuccess;
+    private final Timer batchFailure;
+    private final Timer endToEnd;
+    private final DistributionSummary batchSizes;
+
+    private CompletableFuture<Void> pipeline;
+
+    public EmployeePublisher(EmployeeServiceExternal employeeServiceExternal,
+                             EmployeeRepository employeeRepository,
+                             EmployeePublisherProperties properties,
+                             DeadLetterStore deadLetterStore,
+                             MeterRegistry meterRegistry) {
+        this.employeeServiceExternal = employeeServiceExternal;
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.deadLetterStore = deadLetterStore;
+        this.queue = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+
+        Gauge.builder("employee.publish.queued", queued, AtomicInteger::get)
+                .description("Employees waiting to be batched")
+                .register(meterRegistry);
+        this.accepted = enqueueCounter(meterRegistry, "accepted");
+        this.rejected = enqueueCounter(meterRegistry, "rejected");
+        this.published = deliveryCounter(meterRegistry, "published");
+        this.deadLettered = deliveryCounter(meterRegistry, "dead-lettered");
+        this.retries = Counter.builder("employee.publish.retries")
+                .description("Batch post attempts that were retried")
+                .register(meterRegistry);
+        this.batchSuccess = batchTimer(meterRegistry, "success");
+        this.batchFailure = batchTimer(meterRegistry, "failure");
+        this.endToEnd = Timer.builder("employee.publish.latency")
+                .description("Time from enqueue until the external service accepted the employee")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("employee.publish.batch.size")
+                .description("Employees per posted batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        int lanes = Math.max(1, properties.getConcurrency());
+        pipeline = queue.asFlux()
+                .doOnNext(pending -> queued.decrementAndGet())
+                .groupBy(pending -> Math.floorMod(pending.employee().getId(), lanes))
+                .flatMap(lane -> lane
+                        .bufferTimeout(properties.getBatchSize(), properties.getBatchWindow(), true)
+                        .concatMap(this::send), lanes)
+                .then()
+                .toFuture();
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (queue) {
+            queue.tryEmitComplete();
+        }
+        try {
+            pipeline.get(properties.getBatchWindow().toMillis() + 5000, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("Publishing pipeline did not drain cleanly: {}", e.toString());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (properties.isOnChange()) {
+            publish(payload(event.getEmployee()));
+        }
+    }
+
+    // non-blocking; returns false when the queue is full so callers can shed or retry later
+    public boolean publish(EmployeeDTO employee) {
+        if (employee == null || employee.getId() == null) {
+            throw new IllegalArgumentException("Employee id is required");
+        }
+        queued.incrementAndGet();
+        Sinks.EmitResult result;
+        synchronized (queue) {
+            result = queue.tryEmitNext(new Pending(employee, System.nanoTime()));
+        }
+        if (result.isSuccess()) {
+            accepted.increment();
+            return true;
+        }
+        queued.decrementAndGet();
+        rejected.increment();
+        return false;
+    }
+
+    // A dead letter holds employees as they were when their batch failed, and a newer state may have been delivered
+    // since, so each one is reloaded and its current row is sent instead. Employees no longer in the table (archived)
+    // are dropped.
+    public int replayDeadLetters() {
+        int requeued = 0;
+        for (DeadLetterDTO letter : deadLetterStore.drain()) {
+            List<EmployeeDTO> current;
+            try {
+                current = employeeRepository.findDtosInOrder(letter.getEmployees().stream().map(EmployeeDTO::getId).toList());
+            } catch (RuntimeException e) {
+                // kept for the next replay rather than lost with the drained store
+                deadLetterStore.add(letter.getEmployees(), e, letter.getAttempts());
+                continue;
+            }
+            for (EmployeeDTO row : current) {
+                EmployeeDTO employee = payload(row);
+                if (publish(employee)) {
+                    requeued++;
+                } else {
+                    deadLetterStore.add(List.of(employee), new IllegalStateException("Publish queue is full"), 0);
+                }
+            }
+        }
+        return requeued;
+    }
+
+    private static EmployeeDTO payload(EmployeeDTO employee) {
+        if (employee == null || "ACTIVE".equals(employee.getStatus())) {
+            return employee;
+        }
+        return EmployeeDTO.builder()
+                .id(employee.getId())
+                .status(employee.getStatus())
+                .version(employee.getVersion())
+                .build();
+    }
+
+    private Mono<Void> send(List<Pending> batch) {
+        List<EmployeeDTO> employees = batch.stream().map(Pending::employee).toList();
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+        batchSizes.record(batch.size());
+        return Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return employeeServiceExternal.postEmployeesToExternal(employees);
+                })
+                .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                        .maxBackoff(properties.getMaxRetryBackoff())
+                        .jitter(properties.getRetryJitter())
+                        .filter(this::isRetryable)
+                        .doBeforeRetry(signal -> retries.increment())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doOnSuccess(body -> {
+                    long now = System.nanoTime();
+                    batchSuccess.record(now - start, TimeUnit.NANOSECONDS);
+                    batch.forEach(pending -> endToEnd.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+                    published.increment(batch.size());
+                })
+                .then()
+                .onErrorResume(ex -> {
+                    batchFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    deadLettered.increment(batch.size());
+                    deadLetterStore.add(employees, ex, attempts.get());
+                    logger.warn("Dead-lettered batch of {} employees after {} attempts: {}", batch.size(), attempts.get(), ex.toString());
+                    return Mono.empty();
+                });
+    }
+
+    // a 4xx will not succeed on retry, everything else (5xx, timeouts, open circuit) might
+    private boolean isRetryable(Throwable ex) {
+        return !(ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+
+    private static Counter enqueueCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.publish.enqueued")
+                .description("Employees offered to the publishing queue")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.publish.employees")
+                .description("Employees leaving the publishing pipeline")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Timer batchTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("employee.publish.batch")
+                .description("Time to deliver one batch, including retries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Pending(EmployeeDTO employee, long enqueuedAt) {
+    }
+}
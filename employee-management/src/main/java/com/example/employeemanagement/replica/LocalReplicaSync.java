@@ -0,0 +1,183 @@
+package com.example.employeemanagement.replica;
+
+import com.example.employeemanagement.changes.EmployeeChangeLog;
+import com.example.employeemanagement.config.ReplicaProperties;
+import com.example.employeemanagement.dto.EmployeeChangeDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.model.EmployeeListVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Stands in for database replication when the primary and replicas are in-memory H2 databases: copies the primary
+// into every replica once the application is up, then replays the change log into them, holding each change back
+// for the configured delay so replica lag and read-your-writes can be tried out locally. Archived chunks are replayed
+// the same way, after the changes that preceded them.
+public class LocalReplicaSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalReplicaSync.class);
+
+    private static final String UPSERT_EMPLOYEE = "merge into employee " +
+            "(id, name, department, email, salary, status, manager_id, version, inactive_since) key (id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_INACTIVE_SINCE = "select id, inactive_since from employee where id in (:ids)";
+    private static final String UPSERT_CHANGE = "merge into employee_change " +
+            "(seq, employee_id, type, payload, changed_at) key (seq) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_ARCHIVED = "select id, name, department, email, salary, status, manager_id, " +
+            "version, inactive_since, archived_at from employee_archive where id in (:ids)";
+    private static final String UPSERT_ARCHIVED = "merge into employee_archive " +
+            "(id, name, department, email, salary, status, manager_id, version, inactive_since, archived_at) key (id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_EMPLOYEES = "delete from employee where id in (:ids)";
+    private static final String COUNT_CHANGES = "select count(*) from employee_change where seq between ? and ?";
+    private static final String ADD_LIST_VERSION = "merge into employee_list_version (id, version) key (id) " +
+            "select ?, coalesce(max(version), 0) + ? from employee_list_version";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final EmployeeChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final ReplicaProperties properties;
+    private final Queue<ArchivedChunk> archivedChunks = new ConcurrentLinkedQueue<>();
+
+    // last change log position applied to every replica, -1 until the initial copy is done
+    private volatile long applied = -1;
+
+    public LocalReplicaSync(DataSource primary, List<DataSource> replicas, EmployeeChangeLog changeLog,
+                            ObjectMapper objectMapper, ReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void copy() {
+        long start = System.nanoTime();
+        // changes committed while the script runs are replayed afterwards; replaying them twice is harmless
+        long since = changeLog.getPublished();
+        List<String> script = new JdbcTemplate(primary).queryForList("script", String.class);
+        for (DataSource replica : replicas) {
+            new JdbcTemplate(replica).execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    for (String sql : script) {
+                        statement.execute(sql);
+                    }
+                }
+                return null;
+            });
+        }
+        applied = since;
+        logger.info("Copied the primary into {} local replica(s) in {} ms",
+                replicas.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesArchived(EmployeesArchivedEvent event) {
+        archivedChunks.add(new ArchivedChunk(event.getIds(), Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.local-sync.interval:PT0.2S}")
+    public void replay() {
+        if (applied < 0) {
+            return;
+        }
+        Instant due = Instant.now().minus(properties.getLocalSync().getDelay());
+        List<EmployeeChangeDTO> changes = changeLog.changesSince(applied, 0).getChanges().stream()
+                .takeWhile(change -> !change.getChangedAt().isAfter(due))
+                .toList();
+        if (!changes.isEmpty()) {
+            replayChanges(changes);
+        }
+        // archiving only takes employees that have not changed for the retention period, so every change to an
+        // archived row was due, and replayed above, before its chunk is
+        while (archivedChunks.peek() != null && !archivedChunks.peek().archivedAt().isAfter(due)) {
+            replayArchive(archivedChunks.poll().ids());
+        }
+    }
+
+    private void replayChanges(List<EmployeeChangeDTO> changes) {
+        // change payloads carry no inactive_since, so it comes from the primary's current rows
+        Map<Long, Timestamp> inactiveSince = new HashMap<>();
+        new NamedParameterJdbcTemplate(primary).query(SELECT_INACTIVE_SINCE,
+                Map.of("ids", changes.stream().map(EmployeeChangeDTO::getEmployeeId).distinct().toList()),
+                (RowCallbackHandler) rs -> inactiveSince.put(rs.getLong(1), rs.getTimestamp(2)));
+        List<Object[]> employees = new ArrayList<>(changes.size());
+        List<Object[]> entries = new ArrayList<>(changes.size());
+        for (EmployeeChangeDTO change : changes) {
+            EmployeeDTO employee = change.getEmployee();
+            employees.add(new Object[]{employee.getId(), employee.getName(), employee.getDepartment(),
+                    employee.getEmail(), employee.getSalary(), employee.getStatus(), employee.getManagerId(),
+                    employee.getVersion(), inactiveSince.get(employee.getId())});
+            entries.add(new Object[]{change.getSeq(), change.getEmployeeId(), change.getType(),
+                    toJson(employee), Timestamp.from(change.getChangedAt())});
+        }
+        long first = changes.get(0).getSeq();
+        long last = changes.get(changes.size() - 1).getSeq();
+        for (DataSource replica : replicas) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            new TransactionTemplate(new DataSourceTransactionManager(replica)).executeWithoutResult(status -> {
+                // the list version moves by one per change, as on the primary; changes the initial copy already
+                // contained are applied again but not counted twice
+                long known = jdbcTemplate.queryForObject(COUNT_CHANGES, Long.class, first, last);
+                jdbcTemplate.batchUpdate(UPSERT_EMPLOYEE, employees);
+                jdbcTemplate.batchUpdate(UPSERT_CHANGE, entries);
+                jdbcTemplate.update(ADD_LIST_VERSION, EmployeeListVersion.SINGLETON_ID, changes.size() - known);
+            });
+        }
+        applied = changes.get(changes.size() - 1).getSeq();
+    }
+
+    private void replayArchive(List<Long> ids) {
+        Map<String, List<Long>> params = Map.of("ids", ids);
+        List<Object[]> rows = new NamedParameterJdbcTemplate(primary).query(SELECT_ARCHIVED, params, (rs, rowNum) -> {
+            Object[] row = new Object[10];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        });
+        for (DataSource replica : replicas) {
+            NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(replica);
+            new TransactionTemplate(new DataSourceTransactionManager(replica)).executeWithoutResult(status -> {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_ARCHIVED, rows);
+                jdbcTemplate.update(DELETE_EMPLOYEES, params);
+            });
+        }
+    }
+
+    private String toJson(EmployeeDTO employee) {
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize employee " + employee.getId(), e);
+        }
+    }
+
+    private record ArchivedChunk(List<Long> ids, Instant archivedAt) {
+    }
+}
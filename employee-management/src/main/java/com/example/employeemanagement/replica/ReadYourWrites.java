@@ -0,0 +1,49 @@
+package com.example.employeemanagement.replica;
+
+import java.time.Duration;
+
+// When the current session last committed a write, held per thread the way Spring holds transaction state.
+// ReadYourWritesFilter carries it between requests of the same client; wrap() carries it to the thread that runs a
+// task the session handed off.
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static Long getLastWrite() {
+        return lastWrite.get();
+    }
+
+    public static void setLastWrite(Long epochMillis) {
+        if (epochMillis == null) {
+            lastWrite.remove();
+        } else {
+            lastWrite.set(epochMillis);
+        }
+    }
+
+    public static void clear() {
+        lastWrite.remove();
+    }
+
+    // the task runs with the calling thread's last write, and the worker gets its own back afterwards
+    public static Runnable wrap(Runnable task) {
+        Long captured = lastWrite.get();
+        return () -> {
+            Long previous = lastWrite.get();
+            setLastWrite(captured);
+            try {
+                task.run();
+            } finally {
+                setLastWrite(previous);
+            }
+        };
+    }
+
+    static boolean wroteWithin(Duration window) {
+        Long millis = lastWrite.get();
+        return millis != null && System.currentTimeMillis() - millis < window.toMillis();
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.employeemanagement.replica;
+
+import com.example.employeemanagement.config.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Owns the primary and replica pools and picks the pool for each read-only connection. A session that wrote
+// recently reads from the primary; replicas whose lag is unknown or above maxLag are skipped; among the rest the
+// replica with the fewest connections in use wins, scanning from a rotating offset so ties spread evenly.
+public class ReplicaRouter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private static final long UNKNOWN_LAG = Long.MAX_VALUE;
+    // the newest change log entry a database has seen; the table is replicated like any other
+    private static final String LATEST_CHANGE = "select max(changed_at) from employee_change";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReplicaProperties properties;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter readYourWritesFallbacks;
+    private final Counter replicaLagFallbacks;
+    private final DataSource readOnlyDataSource = new AbstractDataSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return chooseForRead().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return chooseForRead().getConnection(username, password);
+        }
+    };
+
+    public ReplicaRouter(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                         ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.primaryReads = readCounter(meterRegistry, primary.getPoolName());
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool, readCounter(meterRegistry, pool.getPoolName()));
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis == UNKNOWN_LAG ? Double.NaN : r.lagMillis)
+                    .description("How far the replica's change log trails the primary's, NaN while unknown")
+                    .baseUnit("milliseconds")
+                    .tag("pool", pool.getPoolName())
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        this.readYourWritesFallbacks = fallbackCounter(meterRegistry, "read-your-writes");
+        this.replicaLagFallbacks = fallbackCounter(meterRegistry, "replica-lag");
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas.stream().<DataSource>map(replica -> replica.pool).toList();
+    }
+
+    // hands out connections from whichever pool chooseForRead picks at the moment a connection is needed
+    public DataSource getReadOnlyDataSource() {
+        return readOnlyDataSource;
+    }
+
+    DataSource chooseForRead() {
+        if (ReadYourWrites.wroteWithin(properties.getReadYourWritesWindow())) {
+            readYourWritesFallbacks.increment();
+            primaryReads.increment();
+            return primary;
+        }
+        long maxLag = properties.getMaxLag().toMillis();
+        int count = replicas.size();
+        int offset = count > 0 ? Math.floorMod(nextReplica.getAndIncrement(), count) : 0;
+        Replica chosen = null;
+        for (int i = 0; i < count; i++) {
+            Replica candidate = replicas.get((offset + i) % count);
+            if (candidate.lagMillis <= maxLag && (chosen == null || candidate.inUse() < chosen.inUse())) {
+                chosen = candidate;
+            }
+        }
+        if (chosen == null) {
+            replicaLagFallbacks.increment();
+            primaryReads.increment();
+            return primary;
+        }
+        chosen.reads.increment();
+        return chosen.pool;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:PT1S}")
+    public void checkLag() {
+        Timestamp primaryLatest;
+        try {
+            primaryLatest = latestChange(primary);
+        } catch (SQLException e) {
+            logger.debug("Could not read the primary's change log position: {}", e.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            long lag;
+            try {
+                Timestamp replicaLatest = latestChange(replica.pool);
+                if (primaryLatest == null) {
+                    lag = 0;
+                } else if (replicaLatest == null) {
+                    lag = UNKNOWN_LAG;
+                } else {
+                    lag = Math.max(0, primaryLatest.getTime() - replicaLatest.getTime());
+                }
+            } catch (SQLException e) {
+                if (replica.lagMillis != UNKNOWN_LAG) {
+                    logger.warn("Replica {} is unavailable, its reads go elsewhere: {}", replica.pool.getPoolName(), e.getMessage());
+                }
+                lag = UNKNOWN_LAG;
+            }
+            replica.lagMillis = lag;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private static Timestamp latestChange(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LATEST_CHANGE)) {
+            return rs.next() ? rs.getTimestamp(1) : null;
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("db.routing.reads")
+                .description("Read-only connections handed out, by pool")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("db.routing.primary-fallbacks")
+                .description("Read-only connections sent to the primary instead of a replica")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private final Counter reads;
+        // unknown until the first lag check succeeds, so a replica that was never reached takes no reads
+        private volatile long lagMillis = UNKNOWN_LAG;
+
+        private Replica(HikariDataSource pool, Counter reads) {
+            this.pool = pool;
+            this.reads = reads;
+        }
+
+        private int inUse() {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean != null ? bean.getActiveConnections() : 0;
+        }
+    }
+}
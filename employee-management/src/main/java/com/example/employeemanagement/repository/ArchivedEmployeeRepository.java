@@ -0,0 +1,39 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.ArchivedEmployee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedEmployeeRepository extends JpaRepository<ArchivedEmployee, Long> {
+
+    @Query("select new com.example.employeemanagement.dto.EmployeeDTO(" +
+            "a.id, a.name, a.department, a.email, a.salary, a.status, a.managerId, a.version) " +
+            "from ArchivedEmployee a where a.id = :id")
+    Optional<EmployeeDTO> findDtoById(Long id);
+
+    @Query("select new com.example.employeemanagement.dto.EmployeeDTO(" +
+            "a.id, a.name, a.department, a.email, a.salary, a.status, a.managerId, a.version) " +
+            "from ArchivedEmployee a where a.id in :ids order by a.id")
+    List<EmployeeDTO> findDtosByIdIn(Collection<Long> ids);
+
+    @Query("select a.version from ArchivedEmployee a where a.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // copied in the database; the rows never pass through the application
+    @Transactional
+    @Modifying
+    @Query("insert into ArchivedEmployee " +
+            "(id, name, department, email, salary, status, managerId, version, inactiveSince, archivedAt) " +
+            "select e.id, e.name, e.department, e.email, e.salary, e.status, e.manager.id, e.version, e.inactiveSince, " +
+            ":archivedAt from Employee e where e.id in :ids and e.status = 'INACTIVE' " +
+            "and e.inactiveSince < :cutoff")
+    int copyFromEmployees(Collection<Long> ids, Instant cutoff, Instant archivedAt);
+}
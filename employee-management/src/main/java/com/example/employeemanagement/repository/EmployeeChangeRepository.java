@@ -0,0 +1,58 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.EmployeeChange;
+import com.example.employeemanagement.model.EmployeeChangeCounter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+// The reads below run in read-write transactions so they stay on the primary when read replicas are configured:
+// a lagging replica would hold back changes this instance has already published.
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    // the next seq; the counter row stays locked until the calling transaction ends, so it must run in the writing
+    // transaction, as late as possible
+    default long nextSeq() {
+        if (incrementCounter() == 0) {
+            throw new IllegalStateException("employee_change_counter has no row; the database is missing migration V5");
+        }
+        return findLastSeq();
+    }
+
+    @Transactional
+    @Modifying
+    @Query("update EmployeeChangeCounter c set c.lastSeq = c.lastSeq + 1 where c.id = " + EmployeeChangeCounter.SINGLETON_ID)
+    int incrementCounter();
+
+    @Transactional
+    @Query("select c.lastSeq from EmployeeChangeCounter c where c.id = " + EmployeeChangeCounter.SINGLETON_ID)
+    long findLastSeq();
+
+    @Transactional
+    List<EmployeeChange> findBySeqGreaterThanOrderBySeqAsc(Long since, Limit limit);
+
+    @Transactional
+    List<EmployeeChange> findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(Long since, Long upTo, Limit limit);
+
+    @Transactional
+    @Query("select coalesce(max(c.seq), 0) from EmployeeChange c")
+    long findMaxSeq();
+
+    @Transactional
+    @Query("select coalesce(min(c.seq), 0) from EmployeeChange c")
+    long findMinSeq();
+
+    @Transactional
+    @Query("select max(c.seq) from EmployeeChange c where c.changedAt < :cutoff")
+    Long findMaxSeqChangedBefore(Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("delete from EmployeeChange c where c.seq <= :seq")
+    int deleteUpTo(Long seq);
+}
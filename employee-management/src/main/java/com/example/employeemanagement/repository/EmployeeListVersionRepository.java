@@ -0,0 +1,20 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.EmployeeListVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface EmployeeListVersionRepository extends JpaRepository<EmployeeListVersion, Integer> {
+
+    @Query("select v.version from EmployeeListVersion v where v.id = " + EmployeeListVersion.SINGLETON_ID)
+    Optional<Long> findVersion();
+
+    @Transactional
+    @Modifying
+    @Query("update EmployeeListVersion v set v.version = v.version + :changes where v.id = " + EmployeeListVersion.SINGLETON_ID)
+    int add(long changes);
+}
@@ -0,0 +1,13 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EmployeeQueryRepository {
+    // projects straight into EmployeeDTO, so no entities or managers are loaded
+    List<EmployeeDTO> findDtos(Specification<Employee> spec, Sort sort, long offset, int limit);
+}
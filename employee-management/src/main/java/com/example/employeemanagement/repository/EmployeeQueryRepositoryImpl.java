@@ -0,0 +1,50 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class EmployeeQueryRepositoryImpl implements EmployeeQueryRepository {
+
+    private final EntityManager entityManager;
+
+    public EmployeeQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<EmployeeDTO> findDtos(Specification<Employee> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDTO> query = cb.createQuery(EmployeeDTO.class);
+        Root<Employee> employee = query.from(Employee.class);
+        query.select(cb.construct(EmployeeDTO.class,
+                employee.get("id"),
+                employee.get("name"),
+                employee.get("department"),
+                employee.get("email"),
+                employee.get("salary"),
+                employee.get("status"),
+                employee.get("manager").get("id"),
+                employee.get("version")));
+        Predicate predicate = spec.toPredicate(employee, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, employee, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+}
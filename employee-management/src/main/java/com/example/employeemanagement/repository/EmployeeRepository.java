@@ -1,12 +1,121 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.config.HibernateCacheConfig;
+import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.stats.DepartmentStatusAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    List<Employee> findByNameContainingIgnoreCase(String name);
-    List<Employee> findByManager_Id(Long managerId);
-}
\ No newline at end of file
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeQueryRepository {
+    String DTO_SELECT = "select new com.example.employeemanagement.dto.EmployeeDTO(" +
+            "e.id, e.name, e.department, e.email, e.salary, e.status, e.manager.id, e.version) from Employee e ";
+    // ids per findDtosByIdIn lookup in findDtosInOrder
+    int LOAD_CHUNK = 1000;
+
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query(DTO_SELECT + "where e.status = 'ACTIVE' order by e.id")
+    List<EmployeeDTO> findActiveEmployees();
+
+    // case-insensitive substring match; % and _ in the name are matched literally
+    default List<EmployeeDTO> searchByName(String name) {
+        return searchByNameLike("%" + EmployeeSpecifications.escapeLike(name.toLowerCase(Locale.ROOT)) + "%");
+    }
+
+    // served from the query cache until an insert, update or delete touches the employee table
+    @Query(DTO_SELECT + "where lower(e.name) like :pattern escape '\\' order by e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.EMPLOYEE_QUERY_REGION)
+    })
+    List<EmployeeDTO> searchByNameLike(String pattern);
+
+    @Query(DTO_SELECT + "where e.id in :ids order by e.id")
+    List<EmployeeDTO> findDtosByIdIn(Collection<Long> ids);
+
+    // rows for the ids in the order given, looked up LOAD_CHUNK ids at a time; ids without a row are dropped
+    default List<EmployeeDTO> findDtosInOrder(List<Long> ids) {
+        Map<Long, EmployeeDTO> rows = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            for (EmployeeDTO row : findDtosByIdIn(ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size())))) {
+                rows.put(row.getId(), row);
+            }
+        }
+        List<EmployeeDTO> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EmployeeDTO row = rows.get(id);
+            if (row != null) {
+                results.add(row);
+            }
+        }
+        return results;
+    }
+
+    @Query(DTO_SELECT + "where e.manager.id = :managerId and e.status = 'ACTIVE' order by e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.EMPLOYEE_QUERY_REGION)
+    })
+    List<EmployeeDTO> findActiveByManagerId(Long managerId);
+
+    @Query(DTO_SELECT + "where e.status = :status order by e.id")
+    List<EmployeeDTO> findByStatusOrderByIdAsc(String status, Limit limit);
+
+    @Query(DTO_SELECT + "where e.status = :status and e.id > :id order by e.id")
+    List<EmployeeDTO> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long id, Limit limit);
+
+    @Query(DTO_SELECT + "where e.status = :status order by e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<EmployeeDTO> streamByStatus(String status);
+
+    @Query(DTO_SELECT + "order by e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<EmployeeDTO> streamAll();
+
+    // inactive for longer than the retention window and managing nobody left in the hot table, so moving the row out
+    // leaves every manager_id pointing at a row that still exists
+    @Query("select e.id from Employee e where e.status = 'INACTIVE' " +
+            "and e.inactiveSince < :cutoff " +
+            "and not exists (select r.id from Employee r where r.manager.id = e.id) order by e.id")
+    List<Long> findArchivableIds(Instant cutoff, Limit limit);
+
+    // re-checks status and cutoff in case a row changed since it was selected; the manager_id foreign key stops it
+    // from deleting anyone who gained a report in the meantime (MySQL rejects a subquery on the table being deleted)
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids and e.status = 'INACTIVE' " +
+            "and e.inactiveSince < :cutoff")
+    int deleteArchived(Collection<Long> ids, Instant cutoff);
+
+    // one row per distinct salary, so minimum and maximum can be kept exact as employees leave
+    @Query("select new com.example.employeemanagement.stats.DepartmentStatusAggregate(" +
+            "e.department, e.status, e.salary, count(e)) " +
+            "from Employee e group by e.department, e.status, e.salary")
+    List<DepartmentStatusAggregate> aggregateByDepartmentStatusAndSalary();
+}
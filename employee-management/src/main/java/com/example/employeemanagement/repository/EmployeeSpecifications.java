@@ -0,0 +1,75 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Equality predicates come first so department/status/manager can use the composite indexes on Employee; the
+// salary range then narrows within the index, and the email domain is a residual filter on the remaining rows.
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeFilterDTO filter) {
+        List<Specification<Employee>> specs = new ArrayList<>();
+        if (hasText(filter.getDepartment())) {
+            specs.add(hasDepartment(filter.getDepartment()));
+        }
+        if (hasText(filter.getStatus())) {
+            specs.add(hasStatus(filter.getStatus()));
+        }
+        if (filter.getManagerId() != null) {
+            specs.add(reportsTo(filter.getManagerId()));
+        }
+        if (filter.getMinSalary() != null) {
+            specs.add(salaryAtLeast(filter.getMinSalary()));
+        }
+        if (filter.getMaxSalary() != null) {
+            specs.add(salaryAtMost(filter.getMaxSalary()));
+        }
+        if (hasText(filter.getEmailDomain())) {
+            specs.add(hasEmailDomain(filter.getEmailDomain()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Employee> hasDepartment(String department) {
+        return (root, query, cb) -> cb.equal(root.get("department"), department);
+    }
+
+    public static Specification<Employee> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status.toUpperCase(Locale.ROOT));
+    }
+
+    // compares the foreign key column, no join to the manager row
+    public static Specification<Employee> reportsTo(Long managerId) {
+        return (root, query, cb) -> cb.equal(root.get("manager").get("id"), managerId);
+    }
+
+    public static Specification<Employee> salaryAtLeast(double minSalary) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("salary"), minSalary);
+    }
+
+    public static Specification<Employee> salaryAtMost(double maxSalary) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("salary"), maxSalary);
+    }
+
+    public static Specification<Employee> hasEmailDomain(String domain) {
+        String suffix = "%@" + escapeLike(domain.trim().replaceFirst("^@", "").toLowerCase(Locale.ROOT));
+        return (root, query, cb) -> cb.like(cb.lower(root.get("email")), suffix, '\\');
+    }
+
+    // user input as a literal LIKE operand; the query has to declare '\' as its escape character
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.employeemanagement.resilience;
+
+import com.example.employeemanagement.config.ExternalResilienceProperties;
+import com.example.employeemanagement.exception.ConcurrencyLimitExceededException;
+import com.example.employeemanagement.exception.ExternalConnectTimeoutException;
+import com.example.employeemanagement.exception.ExternalReadTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD limit on concurrent calls: grows by one while the limit is in use and latency stays near its smoothed
+// baseline (averaged over the responses that were not slow), shrinks multiplicatively on timeouts, 5xx/429 or responses slower than tolerance x baseline.
+// Calls over the limit fail immediately with ConcurrencyLimitExceededException instead of queueing.
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    // guarded by this
+    private double baselineRttNanos;
+
+    private final Counter succeeded;
+    private final Counter dropped;
+    private final Counter slow;
+    private final Counter rejected;
+    private final Counter cancelled;
+
+    public AdaptiveConcurrencyLimiter(String name, ExternalResilienceProperties.Limiter config, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = Math.max(1, config.getMinLimit());
+        this.maxLimit = Math.max(minLimit, config.getMaxLimit());
+        this.backoffRatio = config.getBackoffRatio();
+        this.latencyTolerance = config.getLatencyTolerance();
+        this.smoothing = config.getSmoothing();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, config.getInitialLimit()));
+
+        Gauge.builder("external.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("external.limiter.in-flight", inFlight, AtomicInteger::get)
+                .description("Calls currently holding a permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.succeeded = callCounter(meterRegistry, name, "success");
+        this.dropped = callCounter(meterRegistry, name, "dropped");
+        this.slow = callCounter(meterRegistry, name, "slow");
+        this.rejected = callCounter(meterRegistry, name, "rejected");
+        this.cancelled = callCounter(meterRegistry, name, "cancelled");
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new ConcurrencyLimitExceededException(
+                        "Too many concurrent calls to the external service (" + name + " limit " + limit + ")"));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            return call
+                    .doOnSuccess(value -> release(released, start, false))
+                    .doOnError(ex -> release(released, start, isOverload(ex)))
+                    .doOnCancel(() -> {
+                        if (released.compareAndSet(false, true)) {
+                            inFlight.decrementAndGet();
+                            cancelled.increment();
+                        }
+                    });
+        });
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release(AtomicBoolean released, long start, boolean overload) {
+        if (released.compareAndSet(false, true)) {
+            int inFlightAtRelease = inFlight.getAndDecrement();
+            onSample(System.nanoTime() - start, inFlightAtRelease, overload);
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtRelease, boolean overload) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        }
+        if (overload) {
+            dropped.increment();
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            return;
+        }
+        if (rttNanos > baselineRttNanos * latencyTolerance) {
+            slow.increment();
+            boolean atFloor = limit == minLimit;
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            // a slow sample is queueing, not the service's latency, so it stays out of the baseline; once there is
+            // nothing left to shed the slowness is the new normal and the baseline follows it
+            if (!atFloor) {
+                return;
+            }
+        } else {
+            succeeded.increment();
+            // only probe upwards when the current limit is actually being used
+            if (inFlightAtRelease * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+        baselineRttNanos += smoothing * (rttNanos - baselineRttNanos);
+    }
+
+    private boolean isOverload(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return ex instanceof ExternalReadTimeoutException
+                || ex instanceof ExternalConnectTimeoutException
+                || ex instanceof TimeoutException
+                || ex instanceof WebClientRequestException;
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("external.limiter.calls")
+                .description("Calls seen by the adaptive concurrency limiter")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.employeemanagement.search;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final int GRAM_SIZE = 3;
+    // marks grams taken from the start of a word, used by prefix queries shorter than a full gram
+    private static final char WORD_START = '^';
+
+    private final EmployeeRepository employeeRepository;
+
+    // only the searched fields, normalized; the matched rows are loaded by id
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Posting> postings = new HashMap<>();
+    // ReentrantReadWriteLock so the JDBC streaming in rebuild() does not pin a carrier thread
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int documentCount;
+        int gramCount;
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            try (Stream<EmployeeDTO> rows = employeeRepository.streamAll()) {
+                rows.forEach(this::add);
+            }
+            postings.values().forEach(Posting::trim);
+            documentCount = documents.size();
+            gramCount = postings.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Employee search index built with {} documents and {} grams in {} ms",
+                documentCount, gramCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        put(event.getEmployee());
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesArchived(EmployeesArchivedEvent event) {
+        remove(event.getIds());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(EmployeeDTO employee) {
+        lock.writeLock().lock();
+        try {
+            add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Document previous = documents.remove(id);
+                if (previous != null) {
+                    for (String gram : grams(previous)) {
+                        unpost(gram, id);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<EmployeeDTO> search(String query, int limit, boolean prefix) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Comparator<Match> order = Comparator.comparingInt(Match::score)
+                .thenComparingInt(m -> m.document.name().length())
+                .thenComparingLong(m -> m.document.id());
+        // keep only the best `limit` matches in a max-heap instead of sorting every hit
+        PriorityQueue<Match> best = new PriorityQueue<>(order.reversed());
+        lock.readLock().lock();
+        try {
+            for (Document document : candidates(q, prefix)) {
+                int score = score(document, q, prefix);
+                if (score < 0) {
+                    continue;
+                }
+                best.add(new Match(document, score));
+                if (limit > 0 && best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(order);
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.document.id());
+        }
+        // rows deleted since they matched are dropped
+        return employeeRepository.findDtosInOrder(ids);
+    }
+
+    private void add(EmployeeDTO employee) {
+        Document document = new Document(employee.getId(), normalize(employee.getName()),
+                normalize(employee.getEmail()), normalize(employee.getDepartment()));
+        Document previous = documents.put(document.id(), document);
+        Set<String> grams = grams(document);
+        Set<String> previousGrams = previous != null ? grams(previous) : Collections.emptySet();
+        for (String gram : previousGrams) {
+            if (!grams.contains(gram)) {
+                unpost(gram, document.id());
+            }
+        }
+        for (String gram : grams) {
+            if (!previousGrams.contains(gram)) {
+                postings.computeIfAbsent(gram, k -> new Posting()).add(document.id());
+            }
+        }
+    }
+
+    private void unpost(String gram, long id) {
+        Posting posting = postings.get(gram);
+        if (posting != null && posting.remove(id) && posting.size() == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    private Collection<Document> candidates(String q, boolean prefix) {
+        List<Posting> lists = new ArrayList<>();
+        if (prefix) {
+            lists.add(postings.getOrDefault(WORD_START + q.substring(0, Math.min(q.length(), GRAM_SIZE - 1)), Posting.EMPTY));
+        }
+        if (q.length() >= GRAM_SIZE) {
+            for (int i = 0; i + GRAM_SIZE <= q.length(); i++) {
+                lists.add(postings.getOrDefault(q.substring(i, i + GRAM_SIZE), Posting.EMPTY));
+            }
+        }
+        if (lists.isEmpty()) {
+            // contains-queries shorter than a gram cannot use the index
+            return documents.values();
+        }
+        lists.sort(Comparator.comparingInt(Posting::size));
+        Posting smallest = lists.get(0);
+        // every list is sorted, so each lookup resumes where the previous one stopped
+        int[] from = new int[lists.size()];
+        List<Document> result = new ArrayList<>(smallest.size());
+        for (int n = 0; n < smallest.size(); n++) {
+            long id = smallest.get(n);
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                int index = lists.get(i).indexOf(id, from[i]);
+                inAll = index >= 0;
+                from[i] = inAll ? index + 1 : -index - 1;
+            }
+            if (inAll) {
+                result.add(documents.get(id));
+            }
+        }
+        return result;
+    }
+
+    private int score(Document document, String q, boolean prefix) {
+        String name = document.name();
+        if (name.equals(q)) {
+            return 0;
+        }
+        if (name.startsWith(q)) {
+            return 1;
+        }
+        if (wordStartIndex(name, q) >= 0) {
+            return 2;
+        }
+        if (!prefix && name.contains(q)) {
+            return 3;
+        }
+        String email = document.email();
+        String department = document.department();
+        if (wordStartIndex(email, q) >= 0 || wordStartIndex(department, q) >= 0) {
+            return 4;
+        }
+        if (!prefix && (email.contains(q) || department.contains(q))) {
+            return 5;
+        }
+        return -1;
+    }
+
+    private static int wordStartIndex(String text, String q) {
+        int from = 0;
+        int index;
+        while ((index = text.indexOf(q, from)) >= 0) {
+            if (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1))) {
+                return index;
+            }
+            from = index + 1;
+        }
+        return -1;
+    }
+
+    private static Set<String> grams(Document document) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, document.name());
+        addGrams(grams, document.email());
+        addGrams(grams, document.department());
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String text) {
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                grams.add(WORD_START + text.substring(i, i + 1));
+                if (i + 1 < text.length()) {
+                    grams.add(WORD_START + text.substring(i, i + 2));
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(long id, String name, String email, String department) {
+    }
+
+    private record Match(Document document, int score) {
+    }
+
+    // sorted ids of the documents containing a gram, 8 bytes per entry instead of a boxed Long in a hash set;
+    // ids mostly arrive in ascending order, so adds are appends
+    private static final class Posting {
+        static final Posting EMPTY = new Posting();
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        // index of the id at or after `from`, or -(insertion point) - 1 when it is absent
+        int indexOf(long id, int from) {
+            return Arrays.binarySearch(ids, from, size, id);
+        }
+
+        void add(long id) {
+            int index = size == 0 || ids[size - 1] < id ? size : indexOf(id, 0);
+            if (index >= 0 && index < size) {
+                return;
+            }
+            int at = index < 0 ? -index - 1 : index;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = indexOf(id, 0);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+    }
+}
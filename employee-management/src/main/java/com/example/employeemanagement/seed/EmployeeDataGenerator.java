@@ -0,0 +1,225 @@
+package com.example.employeemanagement.seed;
+
+import com.example.employeemanagement.config.SeedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+
+// Writes employees straight through JDBC in batches, bypassing JPA, so millions of rows load in a bounded amount of
+// memory. Rows are generated breadth-first, which means every manager is inserted before its reports and the
+// manager_id foreign key holds at every commit.
+@Component
+public class EmployeeDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeDataGenerator.class);
+
+    private static final String INSERT = "insert into employee " +
+            "(id, name, department, email, salary, status, manager_id, inactive_since, version) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    // how Hibernate stores Instant columns
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+    // must match the allocationSize of employee_seq on Employee
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Support", "Operations", "Marketing",
+            "Finance", "Product", "Research", "Human Resources", "Legal", "Facilities", "Security"};
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Carlos", "Aisha", "Wei", "Priya", "Hiroshi", "Olga", "Mohammed", "Fatima", "Lukas", "Ana"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Taylor", "Moore", "Chen",
+            "Patel", "Kim", "Nguyen", "Schmidt", "Rossi", "Ivanova", "Tanaka", "Khan", "Silva", "Novak", "Okafor"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedProperties properties;
+
+    public EmployeeDataGenerator(JdbcTemplate jdbcTemplate, SeedProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    // returns the number of employees inserted
+    public int generate() {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"H2".equalsIgnoreCase(product)) {
+                logger.warn("Employee generator only supports H2, not {}; nothing generated", product);
+                return 0;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int inserted = insertEmployees(connection, nextFreeId(connection));
+                connection.commit();
+                return inserted;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private int insertEmployees(Connection connection, long firstId) throws SQLException {
+        int count = Math.max(0, properties.getCount());
+        int depth = Math.min(Byte.MAX_VALUE, Math.max(1, properties.getDepth()));
+        int fanOut = Math.max(1, properties.getFanOut());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int progressInterval = Math.max(1, properties.getProgressInterval());
+        double[] departmentWeights = cumulativeDepartmentWeights();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+
+        int roots = (int) Math.min(count, Math.max(1, ceilDiv(count, treeSize(depth, fanOut))));
+        int[] departmentOf = new int[count];
+        byte[] levelOf = new byte[count];
+        // breadth-first: the parent cursor walks earlier rows and hands each one a random span of reports
+        int parent = -1;
+        int remainingReports = 0;
+        boolean parentsExhausted = false;
+
+        Instant generatedAt = Instant.now();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < count; i++) {
+                int manager = -1;
+                if (i >= roots && !parentsExhausted) {
+                    if (remainingReports == 0) {
+                        parent++;
+                        remainingReports = 1 + random.nextInt(2 * fanOut - 1);
+                    }
+                    if (levelOf[parent] + 1 < depth) {
+                        manager = parent;
+                        remainingReports--;
+                    } else {
+                        // levels only grow along the cursor, so every later candidate is at the deepest level too;
+                        // the remaining rows start new trees
+                        parentsExhausted = true;
+                    }
+                }
+                levelOf[i] = (byte) (manager < 0 ? 0 : levelOf[manager] + 1);
+                departmentOf[i] = manager >= 0 && random.nextDouble() < properties.getSameDepartmentRatio()
+                        ? departmentOf[manager]
+                        : sampleDepartment(departmentWeights, random);
+                bind(insert, random, firstId + i, manager < 0 ? null : firstId + manager,
+                        departmentOf[i], levelOf[i], depth, generatedAt);
+                insert.addBatch();
+
+                int done = i + 1;
+                if (done % batchSize == 0 || done == count) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (done % progressInterval == 0 || done == count) {
+                    double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+                    logger.info("Seeded {}/{} employees ({} rows/s)", done, count, (long) (done / seconds));
+                }
+            }
+        }
+        if (count > 0) {
+            restartIdSequence(connection, firstId + count - 1);
+        }
+        return count;
+    }
+
+    private void bind(PreparedStatement insert, SplittableRandom random, long id, Long managerId,
+                      int department, int level, int depth, Instant generatedAt) throws SQLException {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        // pay rises with seniority, spread log-normally within a level
+        double base = 45000 * (1 + 0.3 * (depth - 1 - level));
+        double salary = Math.round(base * Math.exp(0.2 * random.nextGaussian()) * 100) / 100.0;
+
+        insert.setLong(1, id);
+        insert.setString(2, first + " " + last);
+        insert.setString(3, departmentName(department));
+        insert.setString(4, (first + "." + last).toLowerCase(Locale.ROOT) + "." + id + "@company.com");
+        insert.setDouble(5, salary);
+        boolean inactive = random.nextDouble() < properties.getInactiveRatio();
+        insert.setString(6, inactive ? "INACTIVE" : "ACTIVE");
+        if (managerId != null) {
+            insert.setLong(7, managerId);
+        } else {
+            insert.setNull(7, Types.BIGINT);
+        }
+        // an inactive employee left at some point within inactiveMaxAge, so archiving follows its retention period
+        if (inactive) {
+            long maxAgeSeconds = Math.max(1, properties.getInactiveMaxAge().toSeconds());
+            Instant inactiveSince = generatedAt.minusSeconds(1 + random.nextLong(maxAgeSeconds));
+            insert.setTimestamp(8, Timestamp.from(inactiveSince), UTC);
+        } else {
+            insert.setNull(8, Types.TIMESTAMP);
+        }
+    }
+
+    private long nextFreeId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) + 1 from employee")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // Hibernate's pooled optimizer treats the next sequence value as the top of a block of ID_ALLOCATION_SIZE ids,
+    // so the sequence has to restart a full block above the last generated id
+    private void restartIdSequence(Connection connection, long lastId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter sequence employee_seq restart with " + (lastId + ID_ALLOCATION_SIZE));
+        }
+    }
+
+    private double[] cumulativeDepartmentWeights() {
+        int departments = Math.max(1, properties.getDepartments());
+        double[] cumulative = new double[departments];
+        double total = 0;
+        for (int k = 0; k < departments; k++) {
+            total += 1 / Math.pow(k + 1, properties.getDepartmentSkew());
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < departments; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sampleDepartment(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private static String departmentName(int index) {
+        return index < DEPARTMENTS.length ? DEPARTMENTS[index] : "Department " + (index + 1);
+    }
+
+    // employees in one full tree: 1 + fanOut + fanOut^2 + ... up to `depth` levels
+    private static long treeSize(int depth, int fanOut) {
+        long size = 0;
+        long level = 1;
+        for (int d = 0; d < depth && size < Integer.MAX_VALUE; d++) {
+            size += level;
+            level = Math.min(Integer.MAX_VALUE, level * fanOut);
+        }
+        return size;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+}
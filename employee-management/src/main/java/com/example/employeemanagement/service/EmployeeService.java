@@ -1,16 +1,44 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.BulkItemResultDTO;
+import com.example.employeemanagement.dto.DepartmentStatsDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.dto.EmployeeQueryResultDTO;
+import com.example.employeemanagement.dto.ManagerSalaryTotalDTO;
+import com.example.employeemanagement.dto.OrgRollupDTO;
+import com.example.employeemanagement.dto.SalaryBucketDTO;
+import com.example.employeemanagement.dto.SalaryPercentilesDTO;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EmployeeService {
     EmployeeDTO createEmployee(EmployeeDTO employeeDTO);
     EmployeeDTO getEmployeeById(Long id);
+    List<EmployeeDTO> getEmployeesByIds(List<Long> ids);
+    Long getEmployeeVersion(Long id);
     EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO);
+    EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion);
     void deleteEmployee(Long id);
+    List<BulkItemResultDTO> createEmployees(List<EmployeeDTO> employeeDTOs);
+    List<BulkItemResultDTO> updateEmployees(List<EmployeeDTO> employeeDTOs);
     List<EmployeeDTO> getAllEmployees();
+    String getEmployeesVersion();
+    EmployeePageDTO getEmployeesPage(Integer limit, String after);
+    EmployeeQueryResultDTO queryEmployees(EmployeeFilterDTO filter);
+    void exportEmployees(String format, OutputStream outputStream) throws IOException;
     List<EmployeeDTO> searchEmployee(String name);
+    List<EmployeeDTO> searchEmployee(String query, Integer limit, boolean prefix);
     List<EmployeeDTO> getEmployeesByManager(Long managerId);
+    List<EmployeeDTO> getOrgSubtree(Long managerId, Integer maxDepth);
+    List<EmployeeDTO> getReportingChain(Long id);
+    OrgRollupDTO getOrgRollup(Long managerId);
+    List<DepartmentStatsDTO> getDepartmentStats();
+    List<SalaryPercentilesDTO> getSalaryPercentiles(String status, List<Double> percentiles);
+    List<ManagerSalaryTotalDTO> getManagerSalaryTotals(String status, Integer limit);
+    List<SalaryBucketDTO> getSalaryDistribution(String department, String status, Double bucketWidth);
 }
\ No newline at end of file
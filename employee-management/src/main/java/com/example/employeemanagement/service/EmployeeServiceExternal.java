@@ -9,4 +9,6 @@ public interface EmployeeServiceExternal {
     Mono<String> fetchExternalInfo(String query);
 
     Mono<String> postEmpoyeeToExternal(EmployeeDTO employeeDTO);
+
+    Mono<String> postEmployeesToExternal(List<EmployeeDTO> employeeDTOs);
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.example.employeemanagement.service.impl;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.exception.ConcurrencyLimitExceededException;
+import com.example.employeemanagement.exception.ExternalConnectTimeoutException;
+import com.example.employeemanagement.exception.ExternalReadTimeoutException;
+import com.example.employeemanagement.service.EmployeeServiceExternal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Primary
+public class CachingEmployeeServiceExternal implements EmployeeServiceExternal {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingEmployeeServiceExternal.class);
+
+    private final EmployeeServiceExternalImpl delegate;
+    private final long freshTtlNanos;
+    private final long staleTtlNanos;
+    private final Cache<String, CachedResponse> responses;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter staleOnError;
+    private final Counter outboundCalls;
+
+    public CachingEmployeeServiceExternal(EmployeeServiceExternalImpl delegate,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.external.cache.fresh-ttl:30s}") Duration freshTtl,
+                                          @Value("${app.external.cache.stale-ttl:10m}") Duration staleTtl,
+                                          @Value("${app.external.cache.stale-if-error-ttl:1h}") Duration staleIfErrorTtl,
+                                          @Value("${app.external.cache.max-size:10000}") long maxSize) {
+        this.delegate = delegate;
+        this.freshTtlNanos = freshTtl.toNanos();
+        this.staleTtlNanos = staleTtl.toNanos();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(staleIfErrorTtl)
+                .build();
+        this.freshHits = cacheCounter(meterRegistry, "fresh");
+        this.staleHits = cacheCounter(meterRegistry, "stale");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.staleOnError = cacheCounter(meterRegistry, "stale-on-error");
+        this.outboundCalls = Counter.builder("external.info.outbound")
+                .description("Requests actually sent to the external info service")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> fetchExternalInfo(String query) {
+        return Mono.defer(() -> {
+            CachedResponse cached = responses.getIfPresent(query);
+            long age = cached != null ? System.nanoTime() - cached.fetchedAt() : Long.MAX_VALUE;
+            if (age < freshTtlNanos) {
+                freshHits.increment();
+                return Mono.just(cached.body());
+            }
+            if (age >= staleTtlNanos) {
+                // too old to serve without trying the service first, but still good enough if it is down
+                misses.increment();
+                return load(query).onErrorResume(this::isUnavailable, ex -> staleOrError(cached, ex));
+            }
+            // serve the stale copy right away and refresh it in the background
+            staleHits.increment();
+            load(query).subscribe(body -> { }, ex -> logger.debug("Background refresh of {} failed: {}", query, ex.toString()));
+            return Mono.just(cached.body());
+        });
+    }
+
+    @Override
+    public Mono<String> postEmpoyeeToExternal(EmployeeDTO employeeDTO) {
+        return delegate.postEmpoyeeToExternal(employeeDTO);
+    }
+
+    @Override
+    public Mono<String> postEmployeesToExternal(List<EmployeeDTO> employeeDTOs) {
+        return delegate.postEmployeesToExternal(employeeDTOs);
+    }
+
+    // concurrent callers for the same query share a single outbound request
+    private Mono<String> load(String query) {
+        return inFlight.computeIfAbsent(query, key -> {
+            outboundCalls.increment();
+            return delegate.fetchExternalInfo(key)
+                    .doOnNext(body -> responses.put(key, new CachedResponse(body, System.nanoTime())))
+                    .doFinally(signal -> inFlight.remove(key))
+                    .cache();
+        });
+    }
+
+    private Mono<String> staleOrError(CachedResponse cached, Throwable ex) {
+        if (cached == null) {
+            return Mono.error(ex);
+        }
+        staleOnError.increment();
+        return Mono.just(cached.body());
+    }
+
+    // the service is down or overloaded, as opposed to rejecting this particular query
+    private boolean isUnavailable(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return ex instanceof CallNotPermittedException
+                || ex instanceof WebClientRequestException
+                || ex instanceof ConcurrencyLimitExceededException
+                || ex instanceof ExternalReadTimeoutException
+                || ex instanceof ExternalConnectTimeoutException;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("external.info.cache")
+                .description("External info lookups by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(String body, long fetchedAt) {
+    }
+}
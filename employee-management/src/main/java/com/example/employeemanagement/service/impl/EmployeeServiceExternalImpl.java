@@ -1,58 +1,138 @@
 package com.example.employeemanagement.service.impl;
 
+import com.example.employeemanagement.config.ExternalResilienceProperties;
 import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.exception.ExternalConnectTimeoutException;
 import com.example.employeemanagement.exception.ExternalReadTimeoutException;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.resilience.AdaptiveConcurrencyLimiter;
 import com.example.employeemanagement.service.EmployeeServiceExternal;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.timeout.TimeoutException;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 public class EmployeeServiceExternalImpl implements EmployeeServiceExternal {
     private final WebClient webClient;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ExternalResilienceProperties.Retry retry;
     @Value("${json.service.url}")
     private String externalServiceUrl;
 
+    public EmployeeServiceExternalImpl(WebClient webClient,
+                                       @Qualifier("externalReadLimiter") AdaptiveConcurrencyLimiter readLimiter,
+                                       @Qualifier("externalWriteLimiter") AdaptiveConcurrencyLimiter writeLimiter,
+                                       ExternalResilienceProperties resilienceProperties) {
+        this.webClient = webClient;
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.retry = resilienceProperties.getRetry();
+    }
+
     @Override
     @CircuitBreaker(name = "externalServiceCB", fallbackMethod = "fallback")
-    @Retry(name = "externalServiceRetry")
     public Mono<String> fetchExternalInfo(String query) {
         String url = externalServiceUrl + query;
-        return webClient.get()
+        return withinBudget(retry.getReadBudget(), readLimiter, () -> webClient.get()
                 .uri(url)
                 .retrieve()
                 .bodyToMono(String.class)
-                .onErrorMap(this::mapTimeouts)
-                ;
+                .onErrorMap(this::mapTimeouts));
     }
 
     @CircuitBreaker(name = "externalServiceCB", fallbackMethod = "fallback")
-    @Retry(name = "externalServiceRetry")
     @Override
     public Mono<String> postEmpoyeeToExternal(EmployeeDTO employeeDTO) {
-        Employee employee = Employee.builder()
+        return withinBudget(retry.getWriteBudget(), writeLimiter, () -> webClient.post()
+                .uri(externalServiceUrl)
+                .bodyValue(toPayload(employeeDTO))
+                .retrieve()
+                .bodyToMono(String.class)
+                .onErrorMap(this::mapTimeouts));
+    }
+
+    // single attempt: the publishing pipeline retries whole batches with its own backoff
+    @CircuitBreaker(name = "externalServiceCB", fallbackMethod = "fallback")
+    @Override
+    public Mono<String> postEmployeesToExternal(List<EmployeeDTO> employeeDTOs) {
+        List<Employee> employees = employeeDTOs.stream().map(this::toPayload).toList();
+        return writeLimiter.limit(webClient.post()
+                .uri(externalServiceUrl)
+                .bodyValue(employees)
+                .retrieve()
+                .bodyToMono(String.class)
+                .onErrorMap(this::mapTimeouts));
+    }
+
+    // Every call gets a deadline shared by all of its attempts: each attempt is cut off at the deadline, and a
+    // retry only starts if its backoff plus a useful attempt still fits. Shed calls are never retried.
+    private Mono<String> withinBudget(Duration budget, AdaptiveConcurrencyLimiter limiter, Supplier<Mono<String>> call) {
+        return Mono.defer(() -> {
+            long deadline = System.nanoTime() + budget.toNanos();
+            return Mono.defer(() -> {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return Mono.error(budgetExhausted(budget));
+                        }
+                        return limiter.limit(call.get().timeout(Duration.ofNanos(remaining), Mono.error(budgetExhausted(budget))));
+                    })
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                        Duration backoff = backoff(signal.totalRetries());
+                        long remaining = deadline - System.nanoTime();
+                        if (signal.totalRetries() + 1 >= retry.getMaxAttempts()
+                                || !isRetryable(signal.failure())
+                                || remaining < backoff.plus(retry.getMinAttemptTime()).toNanos()) {
+                            return Mono.error(signal.failure());
+                        }
+                        return Mono.delay(backoff);
+                    })));
+        });
+    }
+
+    private Duration backoff(long retriesSoFar) {
+        long base = Math.min(retry.getMaxBackoff().toMillis(),
+                retry.getInitialBackoff().toMillis() << Math.min(retriesSoFar, 20));
+        double factor = 1 + retry.getJitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Duration.ofMillis(Math.max(0, (long) (base * factor)));
+    }
+
+    private boolean isRetryable(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return ex instanceof ExternalConnectTimeoutException
+                || ex instanceof ExternalReadTimeoutException
+                || ex instanceof WebClientRequestException;
+    }
+
+    private ExternalReadTimeoutException budgetExhausted(Duration budget) {
+        return new ExternalReadTimeoutException("External service did not respond within " + budget.toMillis() + "ms", null);
+    }
+
+    private Employee toPayload(EmployeeDTO employeeDTO) {
+        return Employee.builder()
                 .id(employeeDTO.getId())
                 .name(employeeDTO.getName())
                 .department(employeeDTO.getDepartment())
                 .email(employeeDTO.getEmail())
                 .salary(employeeDTO.getSalary())
                 .status(employeeDTO.getStatus())
+                .version(employeeDTO.getVersion())
                 .build();
-        return webClient.post()
-                .uri(externalServiceUrl)
-                .bodyValue(employee)
-                .retrieve()
-                .bodyToMono(String.class)
-                .onErrorMap(this::mapTimeouts);
     }
 
     private Throwable mapTimeouts(Throwable ex) {
@@ -75,4 +155,9 @@ public class EmployeeServiceExternalImpl implements EmployeeServiceExternal {
         return Mono.error(ex);
     }
 
+    @SuppressWarnings("unused")
+    private Mono<String> fallback(List<EmployeeDTO> employeeDTOs, Throwable ex) {
+        return Mono.error(ex);
+    }
+
 }
\ No newline at end of file
@@ -1,23 +1,94 @@
 package com.example.employeemanagement.service.impl;
 
+import com.example.employeemanagement.analytics.EmployeeColumnStore;
+import com.example.employeemanagement.config.CacheConfig;
+import com.example.employeemanagement.dto.BulkItemResultDTO;
+import com.example.employeemanagement.dto.DepartmentStatsDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.dto.EmployeeQueryResultDTO;
+import com.example.employeemanagement.dto.ManagerSalaryTotalDTO;
+import com.example.employeemanagement.dto.OrgRollupDTO;
+import com.example.employeemanagement.dto.SalaryBucketDTO;
+import com.example.employeemanagement.dto.SalaryPercentilesDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
+import com.example.employeemanagement.exception.EmployeeVersionConflictException;
+import com.example.employeemanagement.hierarchy.OrgChartIndex;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.ArchivedEmployeeRepository;
+import com.example.employeemanagement.repository.EmployeeListVersionRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.EmployeeSpecifications;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
 import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.stats.DepartmentStatsAggregator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final double[] DEFAULT_PERCENTILES = {0.5, 0.9, 0.99};
+    private static final double DEFAULT_BUCKET_WIDTH = 10000;
+    private static final String CURSOR_PREFIX = "id:";
+    private static final int EXPORT_FLUSH_ROWS = 1000;
+    private static final String CSV_HEADER = "id,name,department,email,salary,status,managerId";
+
     private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final OrgChartIndex orgChartIndex;
+    private final DepartmentStatsAggregator departmentStatsAggregator;
+    private final EmployeeColumnStore employeeColumnStore;
+    private final ArchivedEmployeeRepository archivedEmployeeRepository;
+    private final EmployeeListVersionRepository employeeListVersionRepository;
+
+    @Value("${app.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${app.bulk.max-items:10000}")
+    private int bulkMaxItems;
 
     @Override
     @Transactional
@@ -39,99 +110,493 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee = employeeRepository.save(employee);
         employeeDTO.setId(employee.getId());
         employeeDTO.setStatus("ACTIVE");
+        employeeDTO.setVersion(employee.getVersion());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.CREATED, null, toDTO(employee)));
         return employeeDTO;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    // not readOnly, so a cache miss loads from the primary: a lagging replica could otherwise put the row an update
+    // just evicted back into the cache, and every caller would read it until the entry expires
+    @Transactional
     public EmployeeDTO getEmployeeById(Long id) {
-        Employee emp = employeeRepository.findById(id)
+        // archived employees are gone from the hot table but can still be read by id
+        return employeeRepository.findById(id)
+                .map(this::toDTO)
+                .or(() -> archivedEmployeeRepository.findDtoById(id))
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
-        return EmployeeDTO.builder()
-                .id(emp.getId())
-                .name(emp.getName())
-                .department(emp.getDepartment())
-                .email(emp.getEmail())
-                .salary(emp.getSalary())
-                .status(emp.getStatus())
-                .managerId(emp.getManager() != null ? emp.getManager().getId() : null)
-                .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Long getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id)
+                .or(() -> archivedEmployeeRepository.findVersionById(id))
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getEmployeesByIds(List<Long> ids) {
+        checkBulkSize(ids);
+        return employeeRepository.findDtosByIdIn(new HashSet<>(ids));
+    }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     @Transactional
     public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
+        return updateEmployee(id, employeeDTO, null);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion) {
         Employee emp = employeeRepository.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
+        checkVersion(emp, expectedVersion);
+        EmployeeDTO previous = toDTO(emp);
         emp.setName(employeeDTO.getName());
         emp.setDepartment(employeeDTO.getDepartment());
         emp.setEmail(employeeDTO.getEmail());
         emp.setSalary(employeeDTO.getSalary());
-        emp.setStatus(employeeDTO.getStatus());
+        applyStatus(emp, employeeDTO.getStatus());
         emp.setManager(employeeDTO.getManagerId() != null ? employeeRepository.findById(employeeDTO.getManagerId()).orElseThrow(() -> new EmployeeNotFoundException("Manager not found with id: " + employeeDTO.getManagerId())) : null);
         emp = employeeRepository.save(emp);
+        // flush now so the version check runs here and the returned version is the new one
+        entityManager.flush();
         BeanUtils.copyProperties(emp, employeeDTO);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, previous, toDTO(emp)));
         return employeeDTO;
     }
 
+    private void checkVersion(Employee emp, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(emp.getVersion())) {
+            throw new EmployeeVersionConflictException("Employee " + emp.getId() + " has version " + emp.getVersion()
+                    + ", expected " + expectedVersion);
+        }
+    }
+
+    // inactiveSince starts the archive retention clock each time an employee stops being ACTIVE
+    private static void applyStatus(Employee emp, String status) {
+        if (!"INACTIVE".equals(status)) {
+            emp.setInactiveSince(null);
+        } else if (!"INACTIVE".equals(emp.getStatus())) {
+            emp.setInactiveSince(Instant.now());
+        }
+        emp.setStatus(status);
+    }
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     @Transactional
     public void deleteEmployee(Long id) {
         Employee emp = employeeRepository.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
-        emp.setStatus("INACTIVE");
+        EmployeeDTO previous = toDTO(emp);
+        applyStatus(emp, "INACTIVE");
         employeeRepository.save(emp);
+        entityManager.flush();
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.DELETED, previous, toDTO(emp)));
+    }
+
+    @Override
+    @Transactional
+    public List<BulkItemResultDTO> createEmployees(List<EmployeeDTO> employeeDTOs) {
+        checkBulkSize(employeeDTOs);
+        List<BulkItemResultDTO> results = new ArrayList<>(employeeDTOs.size());
+        Map<Long, Employee> managers = loadManagers(employeeDTOs);
+        List<Employee> batch = new ArrayList<>();
+        List<BulkItemResultDTO> batchResults = new ArrayList<>();
+        for (int i = 0; i < employeeDTOs.size(); i++) {
+            EmployeeDTO dto = employeeDTOs.get(i);
+            String error = dto == null ? "Employee data is required" : validateConstraints(dto);
+            if (error == null) {
+                error = checkManager(dto, managers);
+            }
+            if (error != null) {
+                results.add(BulkItemResultDTO.builder().index(i).success(false).error(error).build());
+                continue;
+            }
+            batch.add(Employee.builder()
+                    .name(dto.getName())
+                    .department(dto.getDepartment())
+                    .email(dto.getEmail())
+                    .salary(dto.getSalary())
+                    .status("ACTIVE")
+                    .manager(dto.getManagerId() != null ? managers.get(dto.getManagerId()) : null)
+                    .build());
+            BulkItemResultDTO result = BulkItemResultDTO.builder().index(i).success(true).build();
+            batchResults.add(result);
+            results.add(result);
+            if (batch.size() >= bulkBatchSize) {
+                flushCreated(batch, batchResults);
+            }
+        }
+        flushCreated(batch, batchResults);
+        return results;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    @Transactional
+    public List<BulkItemResultDTO> updateEmployees(List<EmployeeDTO> employeeDTOs) {
+        checkBulkSize(employeeDTOs);
+        // checked before any row changes: one invalid item rejects the whole batch
+        for (int i = 0; i < employeeDTOs.size(); i++) {
+            String error = employeeDTOs.get(i) == null ? null : validateConstraints(employeeDTOs.get(i));
+            if (error != null) {
+                throw new IllegalArgumentException("Employee at index " + i + ": " + error);
+            }
+        }
+        List<BulkItemResultDTO> results = new ArrayList<>(employeeDTOs.size());
+        Map<Long, Employee> managers = loadManagers(employeeDTOs);
+        int chunkSize = Math.max(1, bulkBatchSize);
+        for (int start = 0; start < employeeDTOs.size(); start += chunkSize) {
+            List<EmployeeDTO> chunk = employeeDTOs.subList(start, Math.min(start + chunkSize, employeeDTOs.size()));
+            Set<Long> ids = chunk.stream()
+                    .filter(dto -> dto != null && dto.getId() != null)
+                    .map(EmployeeDTO::getId)
+                    .collect(Collectors.toSet());
+            Map<Long, Employee> targets = employeeRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Employee::getId, Function.identity()));
+            Map<Employee, EmployeeDTO> updated = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                EmployeeDTO dto = chunk.get(i);
+                int index = start + i;
+                if (dto == null || dto.getId() == null) {
+                    results.add(BulkItemResultDTO.builder().index(index).success(false).error("Employee id is required").build());
+                    continue;
+                }
+                Employee emp = targets.get(dto.getId());
+                String error = emp == null ? "Employee not found with id: " + dto.getId() : checkManager(dto, managers);
+                if (error == null && dto.getVersion() != null && !dto.getVersion().equals(emp.getVersion())) {
+                    error = "Employee " + emp.getId() + " has version " + emp.getVersion() + ", expected " + dto.getVersion();
+                }
+                if (error != null) {
+                    results.add(BulkItemResultDTO.builder().index(index).id(dto.getId()).success(false).error(error).build());
+                    continue;
+                }
+                EmployeeDTO previous = toDTO(emp);
+                emp.setName(dto.getName());
+                emp.setDepartment(dto.getDepartment());
+                emp.setEmail(dto.getEmail());
+                emp.setSalary(dto.getSalary());
+                applyStatus(emp, dto.getStatus());
+                emp.setManager(dto.getManagerId() != null ? managers.get(dto.getManagerId()) : null);
+                results.add(BulkItemResultDTO.builder().index(index).id(emp.getId()).success(true).build());
+                updated.put(emp, previous);
+            }
+            entityManager.flush();
+            // published after the flush so each event carries the bumped version
+            updated.forEach((emp, previous) -> eventPublisher.publishEvent(
+                    new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, previous, toDTO(emp))));
+            entityManager.clear();
+        }
+        return results;
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one employee is required");
+        }
+        if (items.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("At most " + bulkMaxItems + " employees can be sent in one request");
+        }
+    }
+
+    private Map<Long, Employee> loadManagers(List<EmployeeDTO> employeeDTOs) {
+        Set<Long> managerIds = new HashSet<>();
+        for (EmployeeDTO dto : employeeDTOs) {
+            if (dto != null && dto.getManagerId() != null) {
+                managerIds.add(dto.getManagerId());
+            }
+        }
+        if (managerIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return employeeRepository.findAllById(managerIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    private String validateConstraints(EmployeeDTO dto) {
+        Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(dto);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private String checkManager(EmployeeDTO dto, Map<Long, Employee> managers) {
+        if (dto.getManagerId() != null && !managers.containsKey(dto.getManagerId())) {
+            return "Manager not found with id: " + dto.getManagerId();
+        }
+        return null;
+    }
+
+    private void flushCreated(List<Employee> batch, List<BulkItemResultDTO> batchResults) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Employee> saved = employeeRepository.saveAll(batch);
+        entityManager.flush();
+        for (int i = 0; i < saved.size(); i++) {
+            batchResults.get(i).setId(saved.get(i).getId());
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.CREATED, null, toDTO(saved.get(i))));
+        }
+        // keep the persistence context small; managers stay usable as detached references
+        entityManager.clear();
+        batch.clear();
+        batchResults.clear();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .filter(emp -> emp.getStatus() != null && emp.getStatus().equals("ACTIVE"))
-                .map(emp -> EmployeeDTO.builder()
-                        .id(emp.getId())
-                        .name(emp.getName())
-                        .department(emp.getDepartment())
-                        .email(emp.getEmail())
-                        .salary(emp.getSalary())
-                        .status(emp.getStatus())
-                        .managerId(emp.getManager() != null ? emp.getManager().getId() : null)
-                        .build())
-                .collect(Collectors.toList());
+        return employeeRepository.findActiveEmployees();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEmployeesVersion() {
+        return String.valueOf(employeeListVersionRepository.findVersion().orElse(0L));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageDTO getEmployeesPage(Integer limit, String after) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // fetch one extra row to find out whether another page exists
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<EmployeeDTO> rows = after == null || after.isBlank()
+                ? employeeRepository.findByStatusOrderByIdAsc("ACTIVE", fetchLimit)
+                : employeeRepository.findByStatusAndIdGreaterThanOrderByIdAsc("ACTIVE", decodeCursor(after), fetchLimit);
+        boolean hasMore = rows.size() > pageSize;
+        List<EmployeeDTO> content = hasMore ? rows.subList(0, pageSize) : rows;
+        return EmployeePageDTO.builder()
+                .content(content)
+                .nextCursor(hasMore ? encodeCursor(content.get(content.size() - 1).getId()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeQueryResultDTO queryEmployees(EmployeeFilterDTO filter) {
+        int pageSize = filter.getSize() == null ? DEFAULT_PAGE_SIZE : filter.getSize();
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getPage() < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        // JPA takes the offset as an int
+        long offset = (long) filter.getPage() * pageSize;
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("page is too large for size " + pageSize);
+        }
+        if (filter.getMinSalary() != null && filter.getMaxSalary() != null && filter.getMinSalary() > filter.getMaxSalary()) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+        EmployeeFilterDTO.SortField sortField = filter.getSort() != null ? filter.getSort() : EmployeeFilterDTO.SortField.ID;
+        Sort.Direction direction = filter.getDirection() != null ? filter.getDirection() : Sort.Direction.ASC;
+        // id breaks ties so rows never move between pages
+        Sort sort = Sort.by(direction, sortField.getProperty());
+        if (sortField != EmployeeFilterDTO.SortField.ID) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        // no count query: one extra row tells whether another page exists
+        List<EmployeeDTO> rows = employeeRepository.findDtos(EmployeeSpecifications.matching(filter), sort,
+                offset, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        return EmployeeQueryResultDTO.builder()
+                .content(hasNext ? rows.subList(0, pageSize) : rows)
+                .page(filter.getPage())
+                .size(pageSize)
+                .hasNext(hasNext)
+                .build();
     }
+
     @Override
     @Transactional(readOnly = true)
+    public void exportEmployees(String format, OutputStream outputStream) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        ObjectWriter jsonWriter = objectMapper.writerFor(EmployeeDTO.class);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<EmployeeDTO> rows = employeeRepository.streamByStatus("ACTIVE")) {
+            Iterator<EmployeeDTO> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                EmployeeDTO dto = iterator.next();
+                writer.write(csv ? toCsvLine(dto) : jsonWriter.writeValueAsString(dto));
+                writer.write('\n');
+                if (++written % EXPORT_FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private String toCsvLine(EmployeeDTO dto) {
+        return String.join(",",
+                csvValue(dto.getId()),
+                csvValue(dto.getName()),
+                csvValue(dto.getDepartment()),
+                csvValue(dto.getEmail()),
+                csvValue(dto.getSalary()),
+                csvValue(dto.getStatus()),
+                csvValue(dto.getManagerId()));
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    @Override
     public List<EmployeeDTO> searchEmployee(String name) {
-        List<Employee> emp = employeeRepository.findByNameContainingIgnoreCase(name);
+        return searchEmployee(name, null, false);
+    }
+
+    @Override
+    public List<EmployeeDTO> searchEmployee(String query, Integer limit, boolean prefix) {
+        List<EmployeeDTO> emp;
+        if (employeeSearchIndex.isReady()) {
+            emp = employeeSearchIndex.search(query, limit == null ? 0 : limit, prefix);
+        } else {
+            // the index is built once the application is ready; until then search the table
+            emp = employeeRepository.searchByName(query);
+            if (limit != null && limit > 0 && emp.size() > limit) {
+                emp = emp.subList(0, limit);
+            }
+        }
         if (emp.isEmpty()) {
-            throw new EmployeeNotFoundException("Employee not found with name: " + name);
+            throw new EmployeeNotFoundException("Employee not found with name: " + query);
         }
-        return emp.stream().map(e -> EmployeeDTO.builder()
-                .id(e.getId())
-                .name(e.getName())
-                .department(e.getDepartment())
-                .email(e.getEmail())
-                .salary(e.getSalary())
-                .status(e.getStatus())
-                .managerId(e.getManager() != null ? e.getManager().getId() : null)
-                .build()).collect(Collectors.toList());
+        return emp;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByManager(Long managerId) {
-        return employeeRepository.findByManager_Id(managerId).stream()
-                .filter(emp -> emp.getStatus() != null && emp.getStatus().equals("ACTIVE"))
-                .map(emp -> EmployeeDTO.builder()
-                        .id(emp.getId())
-                        .name(emp.getName())
-                        .department(emp.getDepartment())
-                        .email(emp.getEmail())
-                        .salary(emp.getSalary())
-                        .status(emp.getStatus())
-                        .managerId(emp.getManager().getId())
-                        .build())
-                .collect(Collectors.toList());
+        return employeeRepository.findActiveByManagerId(managerId);
+    }
+
+    @Override
+    public List<EmployeeDTO> getOrgSubtree(Long managerId, Integer maxDepth) {
+        requireInOrgChart(managerId);
+        return orgChartIndex.subtree(managerId, maxDepth == null ? 0 : maxDepth);
+    }
+
+    @Override
+    public List<EmployeeDTO> getReportingChain(Long id) {
+        requireInOrgChart(id);
+        return orgChartIndex.chain(id);
+    }
+
+    @Override
+    public OrgRollupDTO getOrgRollup(Long managerId) {
+        requireInOrgChart(managerId);
+        return orgChartIndex.rollup(managerId);
+    }
+
+    private void requireInOrgChart(Long id) {
+        if (!orgChartIndex.isReady()) {
+            orgChartIndex.rebuild();
+        }
+        if (!orgChartIndex.contains(id)) {
+            throw new EmployeeNotFoundException("Employee not found with id: " + id);
+        }
+    }
+
+    @Override
+    public List<DepartmentStatsDTO> getDepartmentStats() {
+        if (!departmentStatsAggregator.isReady()) {
+            departmentStatsAggregator.reconcileIfNotReady();
+        }
+        return departmentStatsAggregator.snapshot();
+    }
+
+    @Override
+    public List<SalaryPercentilesDTO> getSalaryPercentiles(String status, List<Double> percentiles) {
+        double[] requested = percentiles == null || percentiles.isEmpty()
+                ? DEFAULT_PERCENTILES
+                : percentiles.stream().mapToDouble(p -> p != null ? p : Double.NaN).toArray();
+        for (double p : requested) {
+            if (!(p >= 0 && p <= 1)) {
+                throw new IllegalArgumentException("percentiles must be between 0 and 1");
+            }
+        }
+        return readyColumnStore().salaryPercentiles(status, requested);
+    }
+
+    @Override
+    public List<ManagerSalaryTotalDTO> getManagerSalaryTotals(String status, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return readyColumnStore().managerSalaryTotals(status, size);
+    }
+
+    @Override
+    public List<SalaryBucketDTO> getSalaryDistribution(String department, String status, Double bucketWidth) {
+        double width = bucketWidth == null ? DEFAULT_BUCKET_WIDTH : bucketWidth;
+        if (!(width > 0) || Double.isInfinite(width)) {
+            throw new IllegalArgumentException("bucketWidth must be a positive number");
+        }
+        return readyColumnStore().salaryDistribution(department, status, width);
+    }
+
+    private EmployeeColumnStore readyColumnStore() {
+        if (!employeeColumnStore.isReady()) {
+            employeeColumnStore.rebuild();
+        }
+        return employeeColumnStore;
+    }
+
+    private EmployeeDTO toDTO(Employee emp) {
+        return EmployeeDTO.builder()
+                .id(emp.getId())
+                .name(emp.getName())
+                .department(emp.getDepartment())
+                .email(emp.getEmail())
+                .salary(emp.getSalary())
+                .status(emp.getStatus())
+                .managerId(emp.getManager() != null ? emp.getManager().getId() : null)
+                .version(emp.getVersion())
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.example.employeemanagement.stats;
+
+import com.example.employeemanagement.dto.DepartmentStatsDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentStatsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentStatsAggregator.class);
+
+    static final String UNASSIGNED = "UNASSIGNED";
+
+    // latest state of an employee archived while a reconciliation runs
+    private static final EmployeeDTO ARCHIVED = new EmployeeDTO();
+
+    private final EmployeeRepository employeeRepository;
+
+    // event handlers hold the read lock while they apply a change and reconcile() takes the write lock to install the
+    // rebuilt map, so no change lands on a map that is being replaced
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile ConcurrentMap<String, Counters> departments = new ConcurrentHashMap<>();
+    // latest state of every employee changed since the running reconciliation started, null when none runs
+    private volatile ConcurrentMap<Long, EmployeeDTO> touched;
+    private volatile boolean ready;
+
+    // A change committed while the aggregate query runs may or may not be in its result. Every employee changed from
+    // before the query starts is recorded, and before the rebuilt map goes live their rows are read again in the same
+    // snapshot: what the query counted for them is replaced by their latest state, so each change counts exactly once.
+    // Not readOnly, so the snapshot comes from the primary, where the recorded changes committed.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT5M}", initialDelayString = "${app.stats.reconcile-interval:PT5M}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        reconcile(true);
+    }
+
+    // for callers that need the statistics before the first reconciliation finished: those arriving together wait
+    // for one reconciliation rather than each running the aggregate query
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcileIfNotReady() {
+        reconcile(false);
+    }
+
+    private void reconcile(boolean always) {
+        reconcileLock.lock();
+        try {
+            if (!always && ready) {
+                return;
+            }
+            touched = new ConcurrentHashMap<>();
+            ConcurrentMap<String, Counters> rebuilt = new ConcurrentHashMap<>();
+            for (DepartmentStatusAggregate row : employeeRepository.aggregateByDepartmentStatusAndSalary()) {
+                counters(rebuilt, row.getDepartment())
+                        .add(row.getStatus(), row.getSalary(), row.getCount() != null ? Math.toIntExact(row.getCount()) : 0);
+            }
+            swapLock.writeLock().lock();
+            try {
+                Map<Long, EmployeeDTO> changed = touched;
+                if (!changed.isEmpty()) {
+                    for (EmployeeDTO counted : employeeRepository.findDtosInOrder(new ArrayList<>(changed.keySet()))) {
+                        apply(rebuilt, counted, -1);
+                    }
+                    for (EmployeeDTO latest : changed.values()) {
+                        if (latest != ARCHIVED) {
+                            apply(rebuilt, latest, 1);
+                        }
+                    }
+                }
+                departments = rebuilt;
+                ready = true;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            logger.debug("Department statistics reconciled for {} departments", rebuilt.size());
+        } finally {
+            touched = null;
+            reconcileLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            record(event.getEmployee());
+            if (event.getPrevious() != null) {
+                apply(departments, event.getPrevious(), -1);
+            }
+            apply(departments, event.getEmployee(), 1);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // The statistics cover the hot table, which is what reconcile() counts, so archived employees leave
+    // inactiveCount and headcount here rather than waiting for the next reconciliation to drop them.
+    @TransactionalEventListener
+    public void onEmployeesArchived(EmployeesArchivedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            ConcurrentMap<Long, EmployeeDTO> recording = touched;
+            event.getEmployees().forEach(employee -> {
+                if (recording != null) {
+                    recording.put(employee.getId(), ARCHIVED);
+                }
+                apply(departments, employee, -1);
+            });
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<DepartmentStatsDTO> snapshot() {
+        List<DepartmentStatsDTO> result = new ArrayList<>(departments.size());
+        departments.forEach((department, counters) -> {
+            DepartmentStatsDTO stats = counters.toDTO(department);
+            if (stats != null) {
+                result.add(stats);
+            }
+        });
+        result.sort(Comparator.comparing(DepartmentStatsDTO::getDepartment));
+        return result;
+    }
+
+    // keeps the highest version seen; archiving is final, ids are never reused
+    private void record(EmployeeDTO employee) {
+        ConcurrentMap<Long, EmployeeDTO> recording = touched;
+        if (recording != null) {
+            recording.merge(employee.getId(), employee, (seen, next) ->
+                    seen == ARCHIVED || seen.getVersion() != null && next.getVersion() != null
+                            && seen.getVersion() > next.getVersion() ? seen : next);
+        }
+    }
+
+    private static void apply(Map<String, Counters> target, EmployeeDTO employee, int sign) {
+        counters(target, employee.getDepartment()).add(employee.getStatus(), employee.getSalary(), sign);
+    }
+
+    private static Counters counters(Map<String, Counters> target, String department) {
+        return target.computeIfAbsent(department != null ? department : UNASSIGNED, k -> new Counters());
+    }
+
+    // each department is its own lock stripe; the count per salary keeps minimum and maximum exact as employees leave
+    private static final class Counters {
+        private long active;
+        private long inactive;
+        private double totalSalary;
+        private final TreeMap<Double, Integer> salaries = new TreeMap<>();
+
+        synchronized void add(String status, Double salary, int count) {
+            if (!"ACTIVE".equals(status)) {
+                inactive += count;
+                return;
+            }
+            active += count;
+            if (salary != null) {
+                totalSalary += salary * count;
+                salaries.merge(salary, count, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        synchronized DepartmentStatsDTO toDTO(String department) {
+            if (active == 0 && inactive == 0) {
+                return null;
+            }
+            return DepartmentStatsDTO.builder()
+                    .department(department)
+                    .headcount(active + inactive)
+                    .activeCount(active)
+                    .inactiveCount(inactive)
+                    .totalSalary(totalSalary)
+                    .averageSalary(active > 0 ? totalSalary / active : 0)
+                    .minSalary(active > 0 && !salaries.isEmpty() ? salaries.firstKey() : null)
+                    .maxSalary(active > 0 && !salaries.isEmpty() ? salaries.lastKey() : null)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.employeemanagement.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// employees sharing a department, status and salary
+@Getter
+@AllArgsConstructor
+public class DepartmentStatusAggregate {
+    private final String department;
+    private final String status;
+    private final Double salary;
+    private final Long count;
+}
@@ -0,0 +1,13 @@
+-- The schema the versioned migrations start from: the employee table as ddl-auto created it for the original entity.
+create table employee (
+    id bigint generated by default as identity,
+    name varchar(255),
+    department varchar(255),
+    email varchar(255),
+    salary float(53),
+    status varchar(255),
+    manager_id bigint,
+    primary key (id)
+);
+
+alter table employee add constraint FKou6wbxug1d0qf9mabut3xqblo foreign key (manager_id) references employee;
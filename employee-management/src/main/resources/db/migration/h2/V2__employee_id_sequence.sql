@@ -0,0 +1,7 @@
+-- Employee ids come from the pooled employee_seq generator (allocationSize 50) instead of an identity column. Hibernate
+-- treats each value it reads as the top of a block of 50 ids, so the sequence restarts at max(id) + 50.
+create sequence employee_seq start with 1 increment by 50;
+
+alter sequence employee_seq restart with (select coalesce(max(id), 0) + 50 from employee);
+
+alter table employee alter column id drop identity;
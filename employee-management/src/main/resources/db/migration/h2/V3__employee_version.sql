@@ -0,0 +1,11 @@
+-- Optimistic locking and ETags: existing rows start at version 0, the value Hibernate gives a new row.
+alter table employee add column version bigint default 0 not null;
+
+-- The collection ETag: one row counting every committed employee change, bumped by EmployeeListVersionTracker.
+create table employee_list_version (
+    id integer not null,
+    version bigint not null,
+    primary key (id)
+);
+
+insert into employee_list_version (id, version) values (1, 0);
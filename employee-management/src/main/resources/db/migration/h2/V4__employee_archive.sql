@@ -0,0 +1,23 @@
+-- Archiving (EmployeeArchiver): when each employee last became INACTIVE, and the cold table archived rows move to.
+alter table employee add column inactive_since timestamp(6) with time zone;
+
+-- When the existing inactive employees left is not known; their retention clock starts now.
+update employee set inactive_since = current_timestamp(6) where status = 'INACTIVE';
+
+create index idx_employee_status_inactive_since on employee (status, inactive_since);
+
+create table employee_archive (
+    id bigint not null,
+    name varchar(255),
+    department varchar(255),
+    email varchar(255),
+    salary float(53),
+    status varchar(255),
+    manager_id bigint,
+    version bigint,
+    inactive_since timestamp(6) with time zone,
+    archived_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_employee_archive_manager on employee_archive (manager_id);
@@ -0,0 +1,19 @@
+-- The change feed (EmployeeChangeLog): the log itself, and one row holding the last seq handed out.
+create table employee_change (
+    seq bigint not null,
+    employee_id bigint not null,
+    type varchar(16) not null,
+    payload varchar(2000) not null,
+    changed_at timestamp(6) with time zone not null,
+    primary key (seq)
+);
+
+create index idx_employee_change_changed_at on employee_change (changed_at);
+
+create table employee_change_counter (
+    id integer not null,
+    last_seq bigint not null,
+    primary key (id)
+);
+
+insert into employee_change_counter (id, last_seq) values (1, 0);
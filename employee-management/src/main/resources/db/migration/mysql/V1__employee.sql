@@ -0,0 +1,14 @@
+-- The schema the versioned migrations start from: the employee table as ddl-auto created it for the original entity.
+-- A database that already has it is baselined at this version (spring.flyway.baseline-on-migrate) and skips it.
+create table employee (
+    id bigint not null auto_increment,
+    name varchar(255),
+    department varchar(255),
+    email varchar(255),
+    salary float(53),
+    status varchar(255),
+    manager_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+alter table employee add constraint FKou6wbxug1d0qf9mabut3xqblo foreign key (manager_id) references employee (id);
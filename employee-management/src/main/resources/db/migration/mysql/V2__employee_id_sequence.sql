@@ -0,0 +1,13 @@
+-- Employee ids come from the pooled employee_seq generator (allocationSize 50) instead of auto_increment, so bulk
+-- creates can be sent as JDBC batches. MySQL has no sequences: Hibernate keeps the next value in a one-row table and
+-- treats each value it reads as the top of a block of 50 ids, so the first value is max(id) + 50 and every id it
+-- hands out is above the existing ones.
+create table employee_seq (next_val bigint) engine=InnoDB;
+
+insert into employee_seq (next_val) select coalesce(max(id), 0) + 50 from employee;
+
+-- Nothing inserts without an id any more, and an auto_increment counter left in place would hand out ids the sequence
+-- owns. The column type stays the same, so the manager_id foreign key is unaffected while its checks are off.
+set foreign_key_checks = 0;
+alter table employee modify id bigint not null;
+set foreign_key_checks = 1;
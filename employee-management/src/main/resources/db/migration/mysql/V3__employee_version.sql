@@ -0,0 +1,12 @@
+-- Optimistic locking and ETags: existing rows start at version 0, the value Hibernate gives a new row, so they get an
+-- ETag that If-Match can match and are updated like any other versioned row.
+alter table employee add column version bigint not null default 0;
+
+-- The collection ETag: one row counting every committed employee change, bumped by EmployeeListVersionTracker.
+create table employee_list_version (
+    id integer not null,
+    version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into employee_list_version (id, version) values (1, 0);
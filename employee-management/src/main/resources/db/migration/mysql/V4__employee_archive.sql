@@ -0,0 +1,24 @@
+-- Archiving (EmployeeArchiver): when each employee last became INACTIVE, and the cold table archived rows move to.
+alter table employee add column inactive_since datetime(6);
+
+-- When the existing inactive employees left is not known. Their retention clock starts at this deploy (in UTC, as
+-- Hibernate stores Instant), so the first archive run does not move every historically inactive employee at once.
+update employee set inactive_since = utc_timestamp(6) where status = 'INACTIVE';
+
+create index idx_employee_status_inactive_since on employee (status, inactive_since);
+
+create table employee_archive (
+    id bigint not null,
+    name varchar(255),
+    department varchar(255),
+    email varchar(255),
+    salary float(53),
+    status varchar(255),
+    manager_id bigint,
+    version bigint,
+    inactive_since datetime(6),
+    archived_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_employee_archive_manager on employee_archive (manager_id);
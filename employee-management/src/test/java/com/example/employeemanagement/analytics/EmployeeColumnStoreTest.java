@@ -0,0 +1,154 @@
+package com.example.employeemanagement.analytics;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ManagerSalaryTotalDTO;
+import com.example.employeemanagement.dto.SalaryBucketDTO;
+import com.example.employeemanagement.dto.SalaryPercentilesDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeColumnStoreTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeColumnStore columnStore;
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.count()).thenReturn(6L);
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(
+                employee(1L, null, "IT", 100000.0, "ACTIVE"),
+                employee(2L, 1L, "IT", 50000.0, "ACTIVE"),
+                employee(3L, 1L, "IT", 60000.0, "ACTIVE"),
+                employee(4L, 1L, "IT", 70000.0, "INACTIVE"),
+                employee(5L, 1L, "Sales", 40000.0, "ACTIVE"),
+                employee(6L, 5L, null, null, "ACTIVE")));
+        columnStore.rebuild();
+    }
+
+    @Test
+    void rebuild_StreamsTheTableOnlyOnce() {
+        // a second caller that saw the store not ready yet and waited for the lock
+        columnStore.rebuild();
+
+        verify(employeeRepository, times(1)).streamAll();
+    }
+
+    @Test
+    void salaryPercentiles_InterpolatesPerDepartment() {
+        List<SalaryPercentilesDTO> result = columnStore.salaryPercentiles("ACTIVE", new double[]{0.5, 0.999});
+
+        assertEquals(List.of("IT", "Sales"), result.stream().map(SalaryPercentilesDTO::getDepartment).toList());
+        SalaryPercentilesDTO it = result.get(0);
+        assertEquals(3, it.getCount());
+        assertEquals(50000.0, it.getMinSalary());
+        assertEquals(100000.0, it.getMaxSalary());
+        assertEquals(70000.0, it.getAverageSalary(), 1e-9);
+        assertEquals(List.of("p50", "p99.9"), List.copyOf(it.getPercentiles().keySet()));
+        assertEquals(60000.0, it.getPercentiles().get("p50"));
+        assertEquals(99920.0, it.getPercentiles().get("p99.9"), 1e-6);
+    }
+
+    @Test
+    void salaryPercentiles_UnknownStatusIsEmpty() {
+        assertTrue(columnStore.salaryPercentiles("ON_LEAVE", new double[]{0.5}).isEmpty());
+    }
+
+    @Test
+    void onEmployeeChanged_UpdatesRowsInPlaceAndInsertsOutOfOrderIds() {
+        columnStore.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, null,
+                employee(3L, 5L, "Sales", 45000.0, "ACTIVE")));
+        columnStore.put(employee(100L, 5L, "Sales", 55000.0, "ACTIVE"));
+        columnStore.put(employee(50L, 5L, "Legal", 80000.0, "ACTIVE"));
+
+        List<SalaryPercentilesDTO> result = columnStore.salaryPercentiles("ACTIVE", new double[]{0.5});
+
+        assertEquals(List.of("IT", "Legal", "Sales"), result.stream().map(SalaryPercentilesDTO::getDepartment).toList());
+        assertEquals(2, result.get(0).getCount());
+        assertEquals(3, result.get(2).getCount());
+        assertEquals(45000.0, result.get(2).getPercentiles().get("p50"));
+    }
+
+    @Test
+    void remove_DropsRowsAndKeepsTheRestSearchable() {
+        columnStore.remove(List.of(4L, 2L, 99L));
+        columnStore.put(employee(3L, 1L, "IT", 65000.0, "ACTIVE"));
+
+        SalaryPercentilesDTO it = columnStore.salaryPercentiles(null, new double[]{0.5}).get(0);
+        assertEquals(2, it.getCount());
+        assertEquals(82500.0, it.getPercentiles().get("p50"));
+        assertEquals(2, columnStore.managerSalaryTotals(null, 10).get(0).getDirectReports());
+    }
+
+    @Test
+    void managerSalaryTotals_RanksManagersByDirectReportSalary() {
+        List<ManagerSalaryTotalDTO> all = columnStore.managerSalaryTotals(null, 10);
+
+        assertEquals(List.of(1L, 5L), all.stream().map(ManagerSalaryTotalDTO::getManagerId).toList());
+        assertEquals(4, all.get(0).getDirectReports());
+        assertEquals(220000.0, all.get(0).getTotalSalary());
+        assertEquals(1, all.get(1).getDirectReports());
+        assertEquals(0.0, all.get(1).getTotalSalary());
+
+        assertEquals(150000.0, columnStore.managerSalaryTotals("ACTIVE", 1).get(0).getTotalSalary());
+    }
+
+    @Test
+    void salaryDistribution_CountsFixedWidthBuckets() {
+        List<SalaryBucketDTO> buckets = columnStore.salaryDistribution("IT", null, 25000);
+
+        assertEquals(3, buckets.size());
+        assertEquals(50000.0, buckets.get(0).getLowerBound());
+        assertEquals(List.of(3L, 0L, 1L), buckets.stream().map(SalaryBucketDTO::getCount).toList());
+        assertThrows(IllegalArgumentException.class, () -> columnStore.salaryDistribution(null, null, 1));
+    }
+
+    @Test
+    void scans_SplitLargeTablesAcrossTasks() {
+        int rows = 200_000;
+        double expected = 0;
+        for (long id = 7; id < 7 + rows; id++) {
+            double salary = 30000 + id % 1000;
+            columnStore.put(employee(id, 1 + id % 3, id % 2 == 0 ? "IT" : "Sales", salary, "ACTIVE"));
+            if (id % 3 == 0) {
+                expected += salary;
+            }
+        }
+
+        ManagerSalaryTotalDTO manager1 = columnStore.managerSalaryTotals("ACTIVE", 3).stream()
+                .filter(total -> total.getManagerId() == 1L).findFirst().orElseThrow();
+        // rows with id % 3 == 0 report to manager 1, on top of employees 2, 3 and 5
+        assertEquals(expected + 150000.0, manager1.getTotalSalary(), 1e-3);
+        long counted = columnStore.salaryDistribution(null, "ACTIVE", 1000).stream().mapToLong(SalaryBucketDTO::getCount).sum();
+        assertEquals(rows + 4, counted);
+        assertTrue(columnStore.memoryBytes() < 64L * (rows + 6));
+    }
+
+    private static EmployeeDTO employee(Long id, Long managerId, String department, Double salary, String status) {
+        return EmployeeDTO.builder()
+                .id(id)
+                .name("Employee " + id)
+                .department(department)
+                .salary(salary)
+                .status(status)
+                .managerId(managerId)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.employeemanagement.aop;
+
+import com.example.employeemanagement.service.EmployeeService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    @Mock
+    private MethodSignature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoggingAspect loggingAspect;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        loggingAspect = new LoggingAspect(meterRegistry, Duration.ofSeconds(1));
+        when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.getMethod()).thenReturn(EmployeeService.class.getMethod("getEmployeeById", Long.class));
+        when(signature.getDeclaringType()).thenReturn(EmployeeService.class);
+        when(signature.getName()).thenReturn("getEmployeeById");
+    }
+
+    @Test
+    void timeServiceMethods_RecordsSuccessfulCall() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertEquals("result", loggingAspect.timeServiceMethods(joinPoint));
+
+        Timer timer = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tag("method", "getEmployeeById")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void timeServiceMethods_RecordsFailureWithExceptionTag() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> loggingAspect.timeServiceMethods(joinPoint));
+
+        assertEquals(1, meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tag("exception", "IllegalStateException")
+                .timer()
+                .count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void timeServiceMethods_RecordsMonoOnCompletion() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.just("value"));
+
+        Mono<Object> result = (Mono<Object>) loggingAspect.timeServiceMethods(joinPoint);
+
+        assertTrue(meterRegistry.find(LoggingAspect.TIMER_NAME).timers().isEmpty());
+        StepVerifier.create(result).expectNext("value").verifyComplete();
+        assertEquals(1, meterRegistry.get(LoggingAspect.TIMER_NAME).timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void timeServiceMethods_TimesEachSubscriptionOfAMono() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.just("value"));
+
+        Mono<Object> result = (Mono<Object>) loggingAspect.timeServiceMethods(joinPoint);
+        StepVerifier.create(result).expectNext("value").verifyComplete();
+        StepVerifier.create(result).expectNext("value").verifyComplete();
+
+        assertEquals(2, meterRegistry.get(LoggingAspect.TIMER_NAME).tag("cancelled", "false").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void timeServiceMethods_RecordsCancelledMonoWithCancelTag() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.never());
+
+        Mono<Object> result = (Mono<Object>) loggingAspect.timeServiceMethods(joinPoint);
+        result.subscribe().dispose();
+
+        Timer timer = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tag("exception", "none")
+                .tag("cancelled", "true")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.employeemanagement.archive;
+
+import com.example.employeemanagement.changes.EmployeeListVersionTracker;
+import com.example.employeemanagement.config.ArchiveConfig;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.ArchivedEmployeeRepository;
+import com.example.employeemanagement.repository.EmployeeListVersionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// a batch size of one forces a chunk per employee, so managers are only archivable once an earlier chunk took their reports
+@DataJpaTest(properties = {"app.archive.retention=P30D", "app.archive.batch-size=1"})
+@Import({EmployeeArchiver.class, EmployeeListVersionTracker.class, ArchiveConfig.class, SimpleMeterRegistry.class})
+class EmployeeArchiverTest {
+
+    private static final Instant LONG_AGO = Instant.now().minus(Duration.ofDays(60));
+
+    @Autowired
+    private EmployeeArchiver employeeArchiver;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private ArchivedEmployeeRepository archivedEmployeeRepository;
+    @Autowired
+    private EmployeeListVersionRepository employeeListVersionRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Employee boss;
+    private Employee formerManager;
+    private Employee formerReport;
+    private Employee recentlyInactive;
+    // cannot happen once migration V4 has run; without a date it is never past retention
+    private Employee undatedInactive;
+    private Employee inactiveWithActiveReport;
+    private Employee activeReport;
+
+    @BeforeEach
+    void setUp() {
+        boss = persist("Boss", "ACTIVE", null, null);
+        formerManager = persist("Former Manager", "INACTIVE", LONG_AGO, boss);
+        formerReport = persist("Former Report", "INACTIVE", LONG_AGO, formerManager);
+        recentlyInactive = persist("Recently Inactive", "INACTIVE", Instant.now().minus(Duration.ofDays(1)), boss);
+        undatedInactive = persist("Undated Inactive", "INACTIVE", null, boss);
+        inactiveWithActiveReport = persist("Inactive Manager", "INACTIVE", LONG_AGO, boss);
+        activeReport = persist("Active Report", "ACTIVE", null, inactiveWithActiveReport);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void archive_MovesInactiveEmployeesPastRetentionFromTheLeavesUp() {
+        assertEquals(2, employeeArchiver.archive());
+
+        List<Long> hot = employeeRepository.findAll().stream().map(Employee::getId).sorted().toList();
+        assertEquals(List.of(boss.getId(), recentlyInactive.getId(), undatedInactive.getId(),
+                inactiveWithActiveReport.getId(), activeReport.getId()), hot);
+        assertEquals(2, archivedEmployeeRepository.count());
+        assertEquals(0, employeeArchiver.archive());
+    }
+
+    @Test
+    void archive_LeavesCollectionVersionUnchanged() {
+        // archived employees are inactive, so the active list and its ETag stay as they were
+        Long before = employeeListVersionRepository.findVersion().orElseThrow();
+        employeeArchiver.archive();
+        assertEquals(before, employeeListVersionRepository.findVersion().orElseThrow());
+    }
+
+    @Test
+    void archivedEmployees_KeepTheirManagerAndCanStillBeReadById() {
+        employeeArchiver.archive();
+
+        EmployeeDTO report = archivedEmployeeRepository.findDtoById(formerReport.getId()).orElseThrow();
+        assertEquals("Former Report", report.getName());
+        assertEquals("INACTIVE", report.getStatus());
+        assertEquals(formerManager.getId(), report.getManagerId());
+        assertEquals(boss.getId(), archivedEmployeeRepository.findDtoById(formerManager.getId()).orElseThrow().getManagerId());
+    }
+
+    private Employee persist(String name, String status, Instant inactiveSince, Employee manager) {
+        Employee employee = Employee.builder()
+                .name(name)
+                .department("Engineering")
+                .email(name.toLowerCase().replace(' ', '.') + "@company.com")
+                .salary(60000.0)
+                .status(status)
+                .inactiveSince(inactiveSince)
+                .manager(manager)
+                .build();
+        entityManager.persist(employee);
+        return employee;
+    }
+}
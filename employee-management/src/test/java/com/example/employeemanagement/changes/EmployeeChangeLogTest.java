@@ -0,0 +1,201 @@
+package com.example.employeemanagement.changes;
+
+import com.example.employeemanagement.config.ChangeFeedProperties;
+import com.example.employeemanagement.dto.ChangeBatchDTO;
+import com.example.employeemanagement.dto.EmployeeChangeDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.model.EmployeeChange;
+import com.example.employeemanagement.repository.EmployeeChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeLogTest {
+
+    @Mock
+    private EmployeeChangeRepository changeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicLong nextSeq = new AtomicLong(1);
+    private ChangeFeedProperties properties;
+    private EmployeeChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ChangeFeedProperties();
+        properties.setMemoryCapacity(3);
+        properties.setPageSize(2);
+        lenient().when(changeRepository.nextSeq()).thenAnswer(invocation -> nextSeq.getAndIncrement());
+        changeLog = new EmployeeChangeLog(changeRepository, objectMapper, properties, Schedulers.immediate(),
+                new SimpleMeterRegistry());
+        changeLog.start();
+    }
+
+    @Test
+    void append_NotVisibleUntilCommitted() {
+        EmployeeChangeDTO change = changeLog.append(created(1L));
+
+        assertEquals(0, changeLog.changesSince(0, 10).getChanges().size());
+
+        changeLog.complete(List.of(change), true);
+
+        ChangeBatchDTO batch = changeLog.changesSince(0, 10);
+        assertEquals(List.of(1L), seqs(batch));
+        assertEquals(1L, batch.getNextSince());
+        assertEquals("CREATED", batch.getChanges().get(0).getType());
+    }
+
+    @Test
+    void complete_LaterCommitWaitsForEarlierTransaction() {
+        EmployeeChangeDTO first = changeLog.append(created(1L));
+        EmployeeChangeDTO second = changeLog.append(created(2L));
+
+        changeLog.complete(List.of(second), true);
+        assertEquals(0, changeLog.getPublished());
+
+        changeLog.complete(List.of(first), true);
+        assertEquals(2, changeLog.getPublished());
+        assertEquals(List.of(1L, 2L), seqs(changeLog.changesSince(0, 10)));
+    }
+
+    @Test
+    void complete_RolledBackSeqGoesToTheNextTransaction() {
+        // the counter update rolls back with the transaction
+        when(changeRepository.nextSeq()).thenReturn(1L, 1L);
+        EmployeeChangeDTO rolledBack = changeLog.append(created(1L));
+        changeLog.complete(List.of(rolledBack), false);
+
+        EmployeeChangeDTO committed = changeLog.append(created(2L));
+        changeLog.complete(List.of(committed), true);
+
+        ChangeBatchDTO batch = changeLog.changesSince(0, 10);
+        assertEquals(List.of(1L), seqs(batch));
+        assertEquals(2L, batch.getChanges().get(0).getEmployeeId());
+    }
+
+    @Test
+    void complete_ReadsSeqsCommittedByAnotherInstanceFromTheTable() {
+        // seq 1 was handed to another instance
+        nextSeq.set(2);
+        EmployeeChangeDTO local = changeLog.append(created(2L));
+        when(changeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, Limit.of(2)))
+                .thenReturn(List.of(stored(1L), stored(2L)));
+
+        changeLog.complete(List.of(local), true);
+
+        assertEquals(2, changeLog.getPublished());
+        assertEquals(List.of(1L, 2L), seqs(changeLog.changesSince(0, 10)));
+        verify(changeRepository, never()).findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(any(), any(), any());
+    }
+
+    @Test
+    void catchUp_StopsAtSeqStillCommitting() {
+        // seq 2 is not visible yet, so 3 cannot be published either
+        when(changeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, Limit.of(2)))
+                .thenReturn(List.of(stored(1L), stored(3L)));
+
+        changeLog.catchUp();
+
+        assertEquals(1, changeLog.getPublished());
+        assertEquals(List.of(1L), seqs(changeLog.changesSince(0, 10)));
+    }
+
+    @Test
+    void changesSince_PagesAndFallsBackToTableWhenEvicted() {
+        for (long id = 1; id <= 5; id++) {
+            changeLog.complete(List.of(changeLog.append(created(id))), true);
+        }
+        // only seq 3..5 are still in memory
+        assertEquals(List.of(3L, 4L), seqs(changeLog.changesSince(2, 0)));
+
+        when(changeRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(0L, 5L, Limit.of(2)))
+                .thenReturn(List.of(stored(1L), stored(2L)));
+        ChangeBatchDTO fromTable = changeLog.changesSince(0, 0);
+        assertEquals(List.of(1L, 2L), seqs(fromTable));
+        assertEquals("Employee 1", fromTable.getChanges().get(0).getEmployee().getName());
+    }
+
+    @Test
+    void poll_CompletesWhenChangeIsPublished() {
+        EmployeeChangeDTO change = changeLog.append(created(1L));
+
+        StepVerifier.create(changeLog.poll(0, 10, Duration.ofSeconds(5)))
+                .then(() -> changeLog.complete(List.of(change), true))
+                .assertNext(batch -> assertEquals(List.of(1L), seqs(batch)))
+                .verifyComplete();
+    }
+
+    @Test
+    void poll_ReturnsEmptyBatchOnTimeout() {
+        StepVerifier.create(changeLog.poll(0, 10, Duration.ofMillis(50)))
+                .assertNext(batch -> {
+                    assertTrue(batch.getChanges().isEmpty());
+                    assertEquals(0, batch.getNextSince());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void stream_DeliversBacklogThenLiveChangesInOrder() {
+        changeLog.complete(List.of(changeLog.append(created(1L))), true);
+        changeLog.complete(List.of(changeLog.append(created(2L))), true);
+
+        StepVerifier.create(changeLog.stream(0).map(EmployeeChangeDTO::getSeq))
+                .expectNext(1L, 2L)
+                .then(() -> changeLog.complete(List.of(changeLog.append(created(3L))), true))
+                .expectNext(3L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void requiresResync_WhenPositionWasPruned() {
+        when(changeRepository.findMaxSeqChangedBefore(any())).thenReturn(10L);
+
+        changeLog.prune();
+
+        verify(changeRepository).deleteUpTo(10L);
+        assertTrue(changeLog.requiresResync(5));
+        assertFalse(changeLog.requiresResync(10));
+        assertTrue(changeLog.changesSince(5, 10).isResyncRequired());
+    }
+
+    private EmployeeChangedEvent created(Long id) {
+        return new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.CREATED, null,
+                EmployeeDTO.builder().id(id).name("Employee " + id).version(0L).build());
+    }
+
+    private EmployeeChange stored(Long seq) {
+        try {
+            return EmployeeChange.builder()
+                    .seq(seq)
+                    .employeeId(seq)
+                    .type("CREATED")
+                    .payload(objectMapper.writeValueAsString(EmployeeDTO.builder().id(seq).name("Employee " + seq).build()))
+                    .build();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<Long> seqs(ChangeBatchDTO batch) {
+        return batch.getChanges().stream().map(EmployeeChangeDTO::getSeq).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.employeemanagement.changes;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.repository.EmployeeListVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(EmployeeListVersionTracker.class)
+// the version only moves when a transaction commits, so nothing here runs inside a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeListVersionTrackerTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private EmployeeListVersionRepository listVersionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void changesInOneTransaction_AreAddedWithOneUpdateOnCommit() {
+        long before = version();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long id = 1; id <= 3; id++) {
+                eventPublisher.publishEvent(changed(id));
+            }
+        });
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(before + 3, version());
+    }
+
+    @Test
+    void rolledBackTransaction_LeavesVersionUnchanged() {
+        long before = version();
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(changed(1L));
+            throw new IllegalStateException("rolled back");
+        }));
+
+        assertEquals(before, version());
+    }
+
+    private long version() {
+        return listVersionRepository.findVersion().orElseThrow();
+    }
+
+    private static EmployeeChangedEvent changed(Long id) {
+        EmployeeDTO employee = EmployeeDTO.builder().id(id).name("Jane").status("ACTIVE").version(1L).build();
+        return new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, employee, employee);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.archive.EmployeeArchiver;
+import com.example.employeemanagement.replica.ReplicaRouter;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
+import com.example.employeemanagement.stats.DepartmentStatsAggregator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupConfig.scheduledBeans();
+
+    @Test
+    void scheduledBeans_StayEagerUnderLazyInitialization() {
+        assertTrue(filter.isExcluded("departmentStatsAggregator", null, DepartmentStatsAggregator.class));
+        assertTrue(filter.isExcluded("employeeArchiver", null, EmployeeArchiver.class));
+        assertTrue(filter.isExcluded("replicaRouter", null, ReplicaRouter.class));
+        assertFalse(filter.isExcluded("employeeSearchIndex", null, EmployeeSearchIndex.class));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.employeemanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebClientConfigTest {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void startStub() {
+        server = HttpServer.create()
+                .port(0)
+                // once per accepted TCP connection; doOnConnection fires for every request on a kept-alive one
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet())
+                .handle((request, response) -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    // leave the in-flight count before the response goes out, so the client cannot send its next
+                    // request on this connection while this one is still counted
+                    return Mono.delay(Duration.ofMillis(50))
+                            .doOnSuccess(tick -> inFlight.decrementAndGet())
+                            .then(response.sendString(Mono.just("ok")).then());
+                })
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopStub() {
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        }
+        server.disposeNow();
+    }
+
+    @Test
+    void burstIsCappedByPoolAndReusesConnections() {
+        WebClient webClient = webClient(2, 100);
+
+        List<String> bodies = Flux.range(0, 20)
+                .flatMap(i -> webClient.get().uri("http://localhost:" + server.port() + "/").retrieve().bodyToMono(String.class), 20)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(20, bodies.size());
+        assertTrue(maxInFlight.get() <= 2, "at most 2 requests in flight, saw " + maxInFlight.get());
+        assertTrue(connections.get() <= 2, "at most 2 connections opened, saw " + connections.get());
+    }
+
+    @Test
+    void requestsBeyondPendingQueueAreRejected() {
+        WebClient webClient = webClient(1, 1);
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<String> bodies = Flux.range(0, 5)
+                .flatMap(i -> webClient.get().uri("http://localhost:" + server.port() + "/").retrieve().bodyToMono(String.class)
+                        .onErrorResume(e -> {
+                            rejected.incrementAndGet();
+                            return Mono.empty();
+                        }), 5)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertTrue(rejected.get() > 0, "expected pending acquires over the limit to fail fast");
+        assertEquals(5, bodies.size() + rejected.get());
+    }
+
+    private WebClient webClient(int maxConnections, int pendingAcquireMaxCount) {
+        ExternalHttpClientProperties properties = new ExternalHttpClientProperties();
+        properties.setMaxConnections(maxConnections);
+        properties.setPendingAcquireMaxCount(pendingAcquireMaxCount);
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.externalConnectionProvider(properties);
+        return config.webClient(WebClient.builder(), connectionProvider, properties);
+    }
+}
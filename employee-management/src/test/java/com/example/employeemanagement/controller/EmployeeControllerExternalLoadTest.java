@@ -0,0 +1,135 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 1000 concurrent calls to the Mono endpoints over real HTTP while the upstream holds every call for a second. A
+// servlet thread is only busy while a request starts and while its response is written, so the upstream ends up
+// holding more calls at once than Tomcat has threads, which a thread held per waiting request could never reach. The
+// peak of busy servlet threads is logged next to it; while the burst arrives it can still reach the pool size on a
+// small machine, so it is recorded rather than asserted. Limits that would shed part of the burst are raised so
+// every call waits on the upstream.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.external.cache.fresh-ttl=0s",
+        "app.external.cache.stale-ttl=0s",
+        "app.external.resilience.retry.max-attempts=1",
+        "app.external.resilience.retry.read-budget=30s",
+        "app.external.resilience.retry.write-budget=30s",
+        "app.external.resilience.read-limiter.initial-limit=1000",
+        "app.external.resilience.read-limiter.max-limit=1000",
+        "app.external.resilience.write-limiter.initial-limit=1000",
+        "app.external.resilience.write-limiter.max-limit=1000",
+        "app.external.http-client.max-connections=1000",
+        "app.external.http-client.response-timeout=30s",
+        "server.tomcat.max-connections=2000",
+        "server.tomcat.accept-count=1000",
+        "logging.level.com.example.employeemanagement=WARN"})
+class EmployeeControllerExternalLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeControllerExternalLoadTest.class);
+
+    private static final int CALLS = 1000;
+    private static final Duration UPSTREAM_DELAY = Duration.ofSeconds(1);
+    // Tomcat's default pool; a thread held per waiting request would use all of it
+    private static final int SERVLET_THREADS = 200;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private static final DisposableServer upstream = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> request.receive().then(Mono.defer(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return response.sendString(Mono.just("{\"id\":1}")
+                        .delayElement(UPSTREAM_DELAY)
+                        .doFinally(signal -> inFlight.decrementAndGet())).then();
+            })))
+            .bindNow();
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DynamicPropertySource
+    static void upstreamUrl(DynamicPropertyRegistry registry) {
+        registry.add("json.service.url", () -> "http://localhost:" + upstream.port() + "/posts/");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @Test
+    void burstOfExternalCalls_WaitsUpstreamWithoutHoldingServletThreads() {
+        Long employeeId = employeeRepository.save(Employee.builder()
+                .name("Jane")
+                .department("IT")
+                .email("jane@company.com")
+                .salary(50000.0)
+                .status("ACTIVE")
+                .build()).getId();
+        ThreadPoolExecutor servletThreads = (ThreadPoolExecutor) ((TomcatWebServer) context.getWebServer())
+                .getTomcat().getConnector().getProtocolHandler().getExecutor();
+        AtomicInteger peakBusy = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakBusy.accumulateAndGet(servletThreads.getActiveCount(), Math::max),
+                0, 1, TimeUnit.MILLISECONDS);
+
+        String baseUrl = "http://localhost:" + context.getWebServer().getPort() + "/api/employees/external/";
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLS; i++) {
+                // half look up external info, half post the employee to the upstream
+                HttpRequest request = i % 2 == 0
+                        ? HttpRequest.newBuilder(URI.create(baseUrl + i)).timeout(Duration.ofSeconds(30)).build()
+                        : HttpRequest.newBuilder(URI.create(baseUrl + employeeId)).timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.noBody()).build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            sampler.shutdownNow();
+            employeeRepository.deleteById(employeeId);
+        }
+
+        logger.warn("{} calls: upstream held at most {} at once, peak busy servlet threads {} of {}",
+                CALLS, maxInFlight.get(), peakBusy.get(), SERVLET_THREADS);
+        long ok = responses.stream().filter(response -> response.join().statusCode() == 200).count();
+        assertEquals(CALLS, ok);
+        assertTrue(maxInFlight.get() > SERVLET_THREADS, "upstream saw at most " + maxInFlight.get()
+                + " concurrent calls with " + SERVLET_THREADS + " servlet threads, peak busy " + peakBusy.get());
+    }
+}
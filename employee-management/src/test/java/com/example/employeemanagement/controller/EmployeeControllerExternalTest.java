@@ -0,0 +1,121 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.PublishResultDTO;
+import com.example.employeemanagement.exception.EmployeeNotFoundException;
+import com.example.employeemanagement.exception.ExternalReadTimeoutException;
+import com.example.employeemanagement.publish.DeadLetterStore;
+import com.example.employeemanagement.publish.EmployeePublisher;
+import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.service.EmployeeServiceExternal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeControllerExternalTest {
+    @Mock
+    private EmployeeServiceExternal employeeServiceExternal;
+    @Mock
+    private EmployeeService employeeService;
+    @Mock
+    private EmployeePublisher employeePublisher;
+    @Mock
+    private DeadLetterStore deadLetterStore;
+
+    private EmployeeControllerExternal controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new EmployeeControllerExternal(employeeServiceExternal, employeeService, Schedulers.immediate(),
+                employeePublisher, deadLetterStore);
+    }
+
+    @Test
+    void fetchExternal_Success() {
+        when(employeeServiceExternal.fetchExternalInfo("1")).thenReturn(Mono.just("{\"id\":1}"));
+
+        StepVerifier.create(controller.fetchExternal("1"))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.getStatusCode());
+                    assertEquals("{\"id\":1}", response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void fetchExternal_MapsTimeoutRaisedInsideMono() {
+        when(employeeServiceExternal.fetchExternalInfo("1"))
+                .thenReturn(Mono.error(new ExternalReadTimeoutException("External service did not respond in time", null)));
+
+        StepVerifier.create(controller.fetchExternal("1"))
+                .assertNext(response -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    void postExternal_LooksUpEmployeeThenPosts() {
+        EmployeeDTO employee = EmployeeDTO.builder().id(1L).name("John Doe").build();
+        when(employeeService.getEmployeeById(1L)).thenReturn(employee);
+        when(employeeServiceExternal.postEmpoyeeToExternal(employee)).thenReturn(Mono.just("created"));
+
+        StepVerifier.create(controller.postExternal(1L))
+                .assertNext(response -> assertEquals("created", response.getBody()))
+                .verifyComplete();
+    }
+
+    @Test
+    void postExternal_WhenEmployeeNotFound() {
+        when(employeeService.getEmployeeById(9L)).thenThrow(new EmployeeNotFoundException("Employee not found with id: 9"));
+
+        StepVerifier.create(controller.postExternal(9L))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+                    assertEquals("Employee not found with id: 9", response.getBody());
+                })
+                .verifyComplete();
+        verifyNoInteractions(employeeServiceExternal);
+    }
+
+    @Test
+    void publishExternal_QueuesFoundEmployeesAndReportsMissingIds() {
+        EmployeeDTO first = EmployeeDTO.builder().id(1L).name("John Doe").build();
+        EmployeeDTO second = EmployeeDTO.builder().id(2L).name("Jane Doe").build();
+        when(employeeService.getEmployeesByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(first, second));
+        when(employeePublisher.publish(first)).thenReturn(true);
+        when(employeePublisher.publish(second)).thenReturn(false);
+
+        StepVerifier.create(controller.publishExternal(List.of(1L, 2L, 3L)))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+                    PublishResultDTO result = (PublishResultDTO) response.getBody();
+                    assertEquals(3, result.getRequested());
+                    assertEquals(1, result.getAccepted());
+                    assertEquals(1, result.getRejected());
+                    assertEquals(List.of(3L), result.getNotFound());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void publishExternal_WhenQueueIsFull() {
+        EmployeeDTO employee = EmployeeDTO.builder().id(1L).name("John Doe").build();
+        when(employeeService.getEmployeesByIds(List.of(1L))).thenReturn(List.of(employee));
+        when(employeePublisher.publish(employee)).thenReturn(false);
+
+        StepVerifier.create(controller.publishExternal(List.of(1L)))
+                .assertNext(response -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode()))
+                .verifyComplete();
+    }
+}
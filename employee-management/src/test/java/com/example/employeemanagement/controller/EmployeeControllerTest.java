@@ -1,7 +1,16 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.BulkItemResultDTO;
+import com.example.employeemanagement.dto.DepartmentStatsDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.dto.EmployeeQueryResultDTO;
+import com.example.employeemanagement.dto.OrgRollupDTO;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
+import com.example.employeemanagement.exception.EmployeeVersionConflictException;
+import com.example.employeemanagement.exception.GlobalExceptionHandler;
+import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,16 +19,35 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeControllerTest {
@@ -89,14 +117,45 @@ class EmployeeControllerTest {
 
     @Test
     void getEmployee_Success() {
+        testEmployeeDTO.setVersion(3L);
         when(employeeService.getEmployeeById(anyLong())).thenReturn(testEmployeeDTO);
 
-        ResponseEntity<?> response = employeeController.getEmployee(1L);
+        ResponseEntity<?> response = employeeController.getEmployee(1L, webRequest(new MockHttpServletRequest()));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(testEmployeeDTO, response.getBody());
+        assertEquals("\"3\"", response.getHeaders().getETag());
         verify(employeeService).getEmployeeById(1L);
+        verify(employeeService, never()).getEmployeeVersion(anyLong());
+    }
+
+    @Test
+    void getEmployee_NotModifiedSkipsLoadingTheEmployee() {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(3L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<?> response = employeeController.getEmployee(1L, new ServletWebRequest(request, servletResponse));
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    @Test
+    void getEmployee_ChangedSinceIfNoneMatch() {
+        testEmployeeDTO.setVersion(4L);
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(4L);
+        when(employeeService.getEmployeeById(1L)).thenReturn(testEmployeeDTO);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+
+        ResponseEntity<?> response = employeeController.getEmployee(1L, webRequest(request));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
     }
 
     @Test
@@ -104,7 +163,7 @@ class EmployeeControllerTest {
         when(employeeService.getEmployeeById(anyLong()))
                 .thenThrow(new EmployeeNotFoundException("Employee not found"));
 
-        ResponseEntity<?> response = employeeController.getEmployee(999L);
+        ResponseEntity<?> response = employeeController.getEmployee(999L, webRequest(new MockHttpServletRequest()));
         
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Employee not found", response.getBody());
@@ -113,22 +172,38 @@ class EmployeeControllerTest {
     @Test
     void getAllEmployees_Success() {
         List<EmployeeDTO> employees = Arrays.asList(testEmployeeDTO);
+        when(employeeService.getEmployeesVersion()).thenReturn("2-5");
         when(employeeService.getAllEmployees()).thenReturn(employees);
 
-        ResponseEntity<?> response = employeeController.getAllEmployees();
+        ResponseEntity<?> response = employeeController.getAllEmployees(webRequest(new MockHttpServletRequest()));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(employees, response.getBody());
+        assertEquals("\"2-5\"", response.getHeaders().getETag());
         verify(employeeService).getAllEmployees();
     }
 
+    @Test
+    void getAllEmployees_NotModifiedCostsOnlyTheVersionQuery() {
+        when(employeeService.getEmployeesVersion()).thenReturn("2-5");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2-5\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<?> response = employeeController.getAllEmployees(new ServletWebRequest(request, servletResponse));
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
     @Test
     void getAllEmployees_WhenDatabaseError() {
         when(employeeService.getAllEmployees())
                 .thenThrow(new DataAccessException("Database connection failed") {});
 
-        ResponseEntity<?> response = employeeController.getAllEmployees();
+        ResponseEntity<?> response = employeeController.getAllEmployees(webRequest(new MockHttpServletRequest()));
         
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Database error occurred", response.getBody());
@@ -136,22 +211,53 @@ class EmployeeControllerTest {
 
     @Test
     void updateEmployee_Success() {
-        when(employeeService.updateEmployee(anyLong(), any(EmployeeDTO.class))).thenReturn(testEmployeeDTO);
+        when(employeeService.updateEmployee(anyLong(), any(EmployeeDTO.class), isNull())).thenReturn(testEmployeeDTO);
 
-        ResponseEntity<?> response = employeeController.updateEmployee(1L, testEmployeeDTO);
+        ResponseEntity<?> response = employeeController.updateEmployee(1L, null, testEmployeeDTO);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(testEmployeeDTO, response.getBody());
-        verify(employeeService).updateEmployee(1L, testEmployeeDTO);
+        verify(employeeService).updateEmployee(1L, testEmployeeDTO, null);
+    }
+
+    @Test
+    void updateEmployee_PassesIfMatchVersion() {
+        testEmployeeDTO.setVersion(4L);
+        when(employeeService.updateEmployee(1L, testEmployeeDTO, 3L)).thenReturn(testEmployeeDTO);
+
+        ResponseEntity<?> response = employeeController.updateEmployee(1L, "\"3\"", testEmployeeDTO);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void updateEmployee_WithStaleIfMatch() {
+        when(employeeService.updateEmployee(1L, testEmployeeDTO, 2L))
+                .thenThrow(new EmployeeVersionConflictException("Employee 1 has version 3, expected 2"));
+
+        ResponseEntity<?> response = employeeController.updateEmployee(1L, "\"2\"", testEmployeeDTO);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    void updateEmployee_WhenConcurrentWriterWins() {
+        when(employeeService.updateEmployee(1L, testEmployeeDTO, 3L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        ResponseEntity<?> response = employeeController.updateEmployee(1L, "\"3\"", testEmployeeDTO);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
     }
 
     @Test
     void updateEmployee_WhenEmployeeNotFound() {
-        when(employeeService.updateEmployee(anyLong(), any(EmployeeDTO.class)))
+        when(employeeService.updateEmployee(anyLong(), any(EmployeeDTO.class), isNull()))
                 .thenThrow(new EmployeeNotFoundException("Employee not found"));
 
-        ResponseEntity<?> response = employeeController.updateEmployee(999L, testEmployeeDTO);
+        ResponseEntity<?> response = employeeController.updateEmployee(999L, null, testEmployeeDTO);
         
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Employee not found", response.getBody());
@@ -182,22 +288,22 @@ class EmployeeControllerTest {
     @Test
     void searchEmployees_Success() {
         List<EmployeeDTO> employees = Arrays.asList(testEmployeeDTO);
-        when(employeeService.searchEmployee(anyString())).thenReturn(employees);
+        when(employeeService.searchEmployee(anyString(), any(), anyBoolean())).thenReturn(employees);
 
-        ResponseEntity<?> response = employeeController.searchEmployees("John");
+        ResponseEntity<?> response = employeeController.searchEmployees("John", null, false);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(employees, response.getBody());
-        verify(employeeService).searchEmployee("John");
+        verify(employeeService).searchEmployee("John", null, false);
     }
 
     @Test
     void searchEmployees_WhenNoMatches() {
-        when(employeeService.searchEmployee(anyString()))
+        when(employeeService.searchEmployee(anyString(), any(), anyBoolean()))
                 .thenThrow(new EmployeeNotFoundException("No employees found"));
 
-        ResponseEntity<?> response = employeeController.searchEmployees("NonExistent");
+        ResponseEntity<?> response = employeeController.searchEmployees("NonExistent", null, false);
         
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("No employees found", response.getBody());
@@ -237,4 +343,152 @@ class EmployeeControllerTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Manager not found", response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getEmployeesPage_Success() {
+        EmployeePageDTO page = new EmployeePageDTO(Arrays.asList(testEmployeeDTO), "aWQ6MQ");
+        when(employeeService.getEmployeesPage(10, null)).thenReturn(page);
+
+        ResponseEntity<?> response = employeeController.getEmployeesPage(10, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(employeeService).getEmployeesPage(10, null);
+    }
+
+    @Test
+    void getEmployeesPage_WithInvalidCursor() {
+        when(employeeService.getEmployeesPage(anyInt(), anyString()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        ResponseEntity<?> response = employeeController.getEmployeesPage(10, "bad");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor: bad", response.getBody());
+    }
+
+    @Test
+    void queryEmployees_Success() {
+        EmployeeFilterDTO filter = EmployeeFilterDTO.builder().department("IT").status("ACTIVE").build();
+        EmployeeQueryResultDTO result = new EmployeeQueryResultDTO(Arrays.asList(testEmployeeDTO), 0, 50, false);
+        when(employeeService.queryEmployees(filter)).thenReturn(result);
+
+        ResponseEntity<?> response = employeeController.queryEmployees(filter);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void queryEmployees_WithInvalidRange() {
+        EmployeeFilterDTO filter = EmployeeFilterDTO.builder().minSalary(10.0).maxSalary(5.0).build();
+        when(employeeService.queryEmployees(filter))
+                .thenThrow(new IllegalArgumentException("minSalary must not be greater than maxSalary"));
+
+        ResponseEntity<?> response = employeeController.queryEmployees(filter);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void exportEmployees_StreamsThroughService() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = employeeController.exportEmployees("ndjson");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(employeeService).exportEmployees("ndjson", out);
+    }
+
+    @Test
+    void exportEmployees_IsWrittenAsynchronouslyByMvc() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeService).exportEmployees(eq("csv"), any(OutputStream.class));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void exportEmployees_WithUnsupportedFormat() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/employees/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unsupported export format: xml"));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void createEmployees_Success() {
+        List<BulkItemResultDTO> results = Arrays.asList(new BulkItemResultDTO(0, 1L, true, null));
+        when(employeeService.createEmployees(anyList())).thenReturn(results);
+
+        ResponseEntity<?> response = employeeController.createEmployees(Arrays.asList(testEmployeeDTO));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void updateEmployees_WithTooManyItems() {
+        when(employeeService.updateEmployees(anyList()))
+                .thenThrow(new IllegalArgumentException("At most 1 employees can be sent in one request"));
+
+        ResponseEntity<?> response = employeeController.updateEmployees(Arrays.asList(testEmployeeDTO, testManagerDTO));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("At most 1 employees can be sent in one request", response.getBody());
+    }
+
+    @Test
+    void getOrgRollup_Success() {
+        OrgRollupDTO rollup = new OrgRollupDTO(2L, 1, 1, 50000.0, 1);
+        when(employeeService.getOrgRollup(2L)).thenReturn(rollup);
+
+        ResponseEntity<?> response = employeeController.getOrgRollup(2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(rollup, response.getBody());
+    }
+
+    @Test
+    void getReportingChain_WhenNotFound() {
+        when(employeeService.getReportingChain(anyLong()))
+                .thenThrow(new EmployeeNotFoundException("Employee not found with id: 999"));
+
+        ResponseEntity<?> response = employeeController.getReportingChain(999L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getDepartmentStats_Success() {
+        List<DepartmentStatsDTO> stats = Arrays.asList(
+                new DepartmentStatsDTO("IT", 1, 1, 0, 50000.0, 50000.0, 50000.0, 50000.0));
+        when(employeeService.getDepartmentStats()).thenReturn(stats);
+
+        ResponseEntity<?> response = employeeController.getDepartmentStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
+
+    private static ServletWebRequest webRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.employeemanagement.hierarchy;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.OrgRollupDTO;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrgChartIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private OrgChartIndex orgChartIndex;
+
+    // the table behind the index, which loads the returned rows by id
+    private final Map<Long, EmployeeDTO> rows = new HashMap<>();
+
+    // 1 -> 2 -> 4 -> 6
+    //   -> 3 -> 5 (inactive) -> 7
+    @BeforeEach
+    void setUp() {
+        List.of(employee(1L, null, "ACTIVE", 200000.0),
+                employee(2L, 1L, "ACTIVE", 150000.0),
+                employee(3L, 1L, "ACTIVE", 140000.0),
+                employee(4L, 2L, "ACTIVE", 100000.0),
+                employee(5L, 3L, "INACTIVE", 90000.0),
+                employee(6L, 4L, "ACTIVE", 80000.0),
+                employee(7L, 5L, "ACTIVE", 70000.0))
+                .forEach(employee -> rows.put(employee.getId(), employee));
+        when(employeeRepository.streamAll()).thenReturn(rows.values().stream().sorted(Comparator.comparing(EmployeeDTO::getId)));
+        lenient().when(employeeRepository.findDtosByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(rows::get).filter(Objects::nonNull)
+                        .map(row -> row.toBuilder().build()).toList());
+        lenient().when(employeeRepository.findDtosInOrder(anyList())).thenCallRealMethod();
+        orgChartIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_SkipsWhenAnotherCallerBuiltTheIndex() {
+        orgChartIndex.rebuild();
+
+        verify(employeeRepository, times(1)).streamAll();
+    }
+
+    @Test
+    void subtree_ReturnsActiveEmployeesBreadthFirst() {
+        assertEquals(List.of(2L, 3L, 4L, 6L, 7L), ids(orgChartIndex.subtree(1L, 0)));
+    }
+
+    @Test
+    void subtree_HonoursDepthLimit() {
+        assertEquals(List.of(2L, 3L, 4L), ids(orgChartIndex.subtree(1L, 2)));
+    }
+
+    @Test
+    void chain_WalksUpToRoot() {
+        assertEquals(List.of(7L, 5L, 3L, 1L), ids(orgChartIndex.chain(7L)));
+    }
+
+    @Test
+    void rollup_CountsActiveEmployeesInSubtree() {
+        OrgRollupDTO rollup = orgChartIndex.rollup(1L);
+
+        assertEquals(2, rollup.getDirectReports());
+        assertEquals(5, rollup.getHeadcount());
+        assertEquals(540000.0, rollup.getTotalSalary());
+        assertEquals(3, rollup.getDepth());
+    }
+
+    @Test
+    void put_MovesEmployeeToNewManager() {
+        orgChartIndex.put(employee(4L, 3L, "ACTIVE", 100000.0));
+
+        assertEquals(List.of(), ids(orgChartIndex.subtree(2L, 0)));
+        assertEquals(List.of(4L, 6L, 7L), ids(orgChartIndex.subtree(3L, 0)));
+    }
+
+    @Test
+    void put_AddsNewEmployeeUnderManager() {
+        EmployeeDTO hire = employee(8L, 4L, "ACTIVE", 60000.0);
+        rows.put(8L, hire);
+        orgChartIndex.put(hire);
+
+        assertEquals(List.of(6L, 8L), ids(orgChartIndex.subtree(4L, 0)));
+        assertEquals(List.of(8L, 4L, 2L, 1L), ids(orgChartIndex.chain(8L)));
+        assertEquals(6, orgChartIndex.rollup(1L).getHeadcount());
+    }
+
+    @Test
+    void put_MovesEmployeeAwayAndBackWithoutDuplicates() {
+        orgChartIndex.put(employee(4L, 3L, "ACTIVE", 100000.0));
+        orgChartIndex.put(employee(4L, 2L, "ACTIVE", 100000.0));
+
+        assertEquals(List.of(2L, 3L, 4L, 6L, 7L), ids(orgChartIndex.subtree(1L, 0)));
+        assertEquals(1, orgChartIndex.rollup(2L).getDirectReports());
+        assertEquals(List.of(), ids(orgChartIndex.subtree(3L, 1)));
+    }
+
+    @Test
+    void put_KeepsReportsInIdOrderWhenHiresArriveOutOfOrder() {
+        EmployeeDTO later = employee(10L, 4L, "ACTIVE", 60000.0);
+        EmployeeDTO earlier = employee(9L, 4L, "ACTIVE", 60000.0);
+        rows.put(10L, later);
+        rows.put(9L, earlier);
+        orgChartIndex.put(later);
+        orgChartIndex.put(earlier);
+
+        assertEquals(List.of(6L, 9L, 10L), ids(orgChartIndex.subtree(4L, 0)));
+        assertEquals(List.of(9L, 4L, 2L, 1L), ids(orgChartIndex.chain(9L)));
+    }
+
+    @Test
+    void put_MergesManyChangesIntoTheLayout() {
+        List<Long> hires = new ArrayList<>();
+        for (long id = 2100; id >= 100; id--) {
+            EmployeeDTO hire = employee(id, 4L, "ACTIVE", 1000.0);
+            rows.put(id, hire);
+            orgChartIndex.put(hire);
+            hires.add(0, id);
+        }
+        orgChartIndex.remove(List.of(6L));
+
+        assertEquals(hires, ids(orgChartIndex.subtree(4L, 1)));
+        assertEquals(2001, orgChartIndex.rollup(4L).getDirectReports());
+        assertEquals(List.of(7L, 5L, 3L, 1L), ids(orgChartIndex.chain(7L)));
+        assertFalse(orgChartIndex.contains(6L));
+
+        // applied in place again after the merge
+        orgChartIndex.put(employee(100L, 3L, "ACTIVE", 1000.0));
+        assertEquals(List.of(100L), ids(orgChartIndex.subtree(3L, 1)));
+        assertEquals(2000, orgChartIndex.rollup(4L).getDirectReports());
+    }
+
+    @Test
+    void remove_DropsArchivedEmployeeAndKeepsTheRest() {
+        orgChartIndex.remove(List.of(6L));
+
+        assertFalse(orgChartIndex.contains(6L));
+        assertEquals(List.of(2L, 3L, 4L, 7L), ids(orgChartIndex.subtree(1L, 0)));
+        assertEquals(List.of(7L, 5L, 3L, 1L), ids(orgChartIndex.chain(7L)));
+        assertEquals(460000.0, orgChartIndex.rollup(1L).getTotalSalary());
+    }
+
+    @Test
+    void put_RestoresRemovedEmployee() {
+        orgChartIndex.remove(List.of(6L));
+        orgChartIndex.put(employee(6L, 4L, "ACTIVE", 80000.0));
+
+        assertTrue(orgChartIndex.contains(6L));
+        assertEquals(List.of(2L, 3L, 4L, 6L, 7L), ids(orgChartIndex.subtree(1L, 0)));
+    }
+
+    @Test
+    void subtree_ReturnsCurrentRowsNotSharedInstances() {
+        rows.put(2L, rows.get(2L).toBuilder().name("Renamed").build());
+
+        List<EmployeeDTO> first = orgChartIndex.subtree(1L, 1);
+        first.get(0).setName("Changed by caller");
+
+        assertEquals("Renamed", orgChartIndex.subtree(1L, 1).get(0).getName());
+    }
+
+    private static EmployeeDTO employee(Long id, Long managerId, String status, Double salary) {
+        return EmployeeDTO.builder()
+                .id(id)
+                .name("Employee " + id)
+                .status(status)
+                .salary(salary)
+                .managerId(managerId)
+                .build();
+    }
+
+    private static List<Long> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.employeemanagement.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void getConnection_FailsFastWhenAllPermitsAreHeld() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1.0, meterRegistry.get("db.concurrency.rejected").counter().count());
+
+        first.close();
+        assertNotNull(dataSource.getConnection());
+        verify(connection).close();
+    }
+
+    @Test
+    void close_ReleasesThePermitOnlyOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        Connection first = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertEquals(2.0, meterRegistry.get("db.concurrency.available").gauge().value());
+        assertSame(connection, ((ConnectionProxy) first).getTargetConnection());
+    }
+
+    @Test
+    void getConnection_ReleasesThePermitWhenThePoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(2.0, meterRegistry.get("db.concurrency.available").gauge().value());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.employeemanagement.publish;
+
+import com.example.employeemanagement.config.EmployeePublisherProperties;
+import com.example.employeemanagement.config.ExternalHttpClientProperties;
+import com.example.employeemanagement.config.ExternalResilienceProperties;
+import com.example.employeemanagement.config.WebClientConfig;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.resilience.AdaptiveConcurrencyLimiter;
+import com.example.employeemanagement.service.impl.EmployeeServiceExternalImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeePublisherTest {
+
+    private static final int EMPLOYEES = 20;
+    private static final int VERSIONS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, List<String>> received = new ConcurrentHashMap<>();
+    private final Map<Long, JsonNode> lastReceived = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger delivered = new AtomicInteger();
+    // every n-th request is answered with this status instead of 200
+    private volatile int failEvery = 0;
+    private volatile int failStatus = 503;
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeRepository employeeRepository;
+    private EmployeePublisherProperties properties;
+    private DeadLetterStore deadLetterStore;
+    private EmployeePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> request.receive().aggregate().asString()
+                        .delayElement(Duration.ofMillis(ThreadLocalRandom.current().nextInt(20)))
+                        .flatMap(body -> {
+                            int n = requests.incrementAndGet();
+                            if (failEvery > 0 && n % failEvery == 0) {
+                                return response.status(failStatus).sendString(Mono.just("unavailable")).then();
+                            }
+                            record(body);
+                            return response.sendString(Mono.just("ok")).then();
+                        }))
+                .bindNow();
+
+        ExternalHttpClientProperties httpProperties = new ExternalHttpClientProperties();
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.externalConnectionProvider(httpProperties);
+        WebClient webClient = config.webClient(WebClient.builder(), connectionProvider, httpProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        ExternalResilienceProperties resilience = new ExternalResilienceProperties();
+        // never shed: every lane must be able to post at once
+        resilience.getWriteLimiter().setMinLimit(4);
+        EmployeeServiceExternalImpl external = new EmployeeServiceExternalImpl(webClient,
+                new AdaptiveConcurrencyLimiter("read", resilience.getReadLimiter(), meterRegistry),
+                new AdaptiveConcurrencyLimiter("write", resilience.getWriteLimiter(), meterRegistry),
+                resilience);
+        ReflectionTestUtils.setField(external, "externalServiceUrl", "http://localhost:" + server.port() + "/");
+
+        properties = new EmployeePublisherProperties();
+        properties.setBatchSize(10);
+        properties.setBatchWindow(Duration.ofMillis(20));
+        properties.setConcurrency(4);
+        properties.setMaxRetries(5);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setMaxRetryBackoff(Duration.ofMillis(100));
+
+        deadLetterStore = new DeadLetterStore(properties, meterRegistry);
+        employeeRepository = mock(EmployeeRepository.class);
+        publisher = new EmployeePublisher(external, employeeRepository, properties, deadLetterStore, meterRegistry);
+        publisher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        server.disposeNow();
+    }
+
+    @Test
+    void updatesForTheSameEmployeeArriveInOrderDespiteRetries() {
+        failEvery = 4;
+
+        for (int version = 0; version < VERSIONS; version++) {
+            for (long id = 1; id <= EMPLOYEES; id++) {
+                assertTrue(publisher.publish(employee(id, "v" + version)));
+            }
+        }
+
+        // the server records a batch before its response reaches the publisher, so wait for the publisher's count too
+        await(() -> delivered.get() == EMPLOYEES * VERSIONS
+                && meterRegistry.get("employee.publish.employees").tag("outcome", "published").counter().count()
+                == EMPLOYEES * VERSIONS);
+        List<String> expected = new ArrayList<>();
+        for (int version = 0; version < VERSIONS; version++) {
+            expected.add("v" + version);
+        }
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            assertEquals(expected, received.get(id), "updates for employee " + id);
+        }
+        assertTrue(requests.get() < EMPLOYEES * VERSIONS, "employees should be posted in batches");
+        assertTrue(meterRegistry.get("employee.publish.retries").counter().count() > 0);
+        assertEquals(0, deadLetterStore.size());
+    }
+
+    @Test
+    void rejectedBatchesGoToDeadLetterStoreWithoutRetry() {
+        failEvery = 1;
+        failStatus = 400;
+
+        assertTrue(publisher.publish(employee(1L, "v0")));
+        assertTrue(publisher.publish(employee(2L, "v0")));
+
+        await(() -> deadLetterStore.size() > 0
+                && meterRegistry.get("employee.publish.employees").tag("outcome", "dead-lettered").counter().count() == 2);
+        assertEquals(0, delivered.get());
+        assertEquals(0.0, meterRegistry.get("employee.publish.retries").counter().count());
+        assertEquals(1, deadLetterStore.list().get(0).getAttempts());
+    }
+
+    @Test
+    void deletedEmployeeIsPublishedAsTombstone() {
+        properties.setOnChange(true);
+        EmployeeDTO previous = employee(1L, "v0");
+        EmployeeDTO deleted = previous.toBuilder().status("INACTIVE").version(3L).build();
+
+        publisher.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.DELETED, previous, deleted));
+
+        await(() -> delivered.get() == 1);
+        JsonNode tombstone = lastReceived.get(1L);
+        assertEquals("INACTIVE", tombstone.get("status").asText());
+        assertEquals(3, tombstone.get("version").asLong());
+        assertTrue(tombstone.get("name").isNull());
+        assertTrue(tombstone.get("email").isNull());
+    }
+
+    @Test
+    void replayedDeadLettersSendTheCurrentRowNotTheFailedSnapshot() {
+        failEvery = 1;
+        failStatus = 400;
+        assertTrue(publisher.publish(employee(1L, "v0")));
+        assertTrue(publisher.publish(employee(2L, "v0")));
+        await(() -> meterRegistry.get("employee.publish.employees").tag("outcome", "dead-lettered").counter().count() == 2);
+
+        // employee 1 changed since the batch failed, employee 2 has been archived
+        failEvery = 0;
+        when(employeeRepository.findDtosInOrder(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0)
+                .contains(1L) ? List.of(employee(1L, "v1")) : List.of());
+
+        assertEquals(1, publisher.replayDeadLetters());
+
+        await(() -> delivered.get() == 1);
+        assertEquals(List.of("v1"), received.get(1L));
+        assertEquals(0, deadLetterStore.size());
+    }
+
+    private void record(String body) {
+        try {
+            for (JsonNode node : objectMapper.readTree(body)) {
+                received.computeIfAbsent(node.get("id").asLong(), id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(node.get("name").asText());
+                lastReceived.put(node.get("id").asLong(), node);
+                delivered.incrementAndGet();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static EmployeeDTO employee(Long id, String name) {
+        return EmployeeDTO.builder().id(id).name(name).department("IT").email("e" + id + "@company.com").status("ACTIVE").build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met within 10s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
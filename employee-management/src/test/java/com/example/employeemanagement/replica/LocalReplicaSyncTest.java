@@ -0,0 +1,131 @@
+package com.example.employeemanagement.replica;
+
+import com.example.employeemanagement.changes.EmployeeChangeLog;
+import com.example.employeemanagement.config.ReplicaProperties;
+import com.example.employeemanagement.dto.ChangeBatchDTO;
+import com.example.employeemanagement.dto.EmployeeChangeDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalReplicaSyncTest {
+
+    private static final Instant INACTIVE_SINCE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private EmployeeChangeLog changeLog;
+    private LocalReplicaSync sync;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primary);
+        jdbcTemplate.execute("create table employee (id bigint primary key, name varchar(255), " +
+                "department varchar(255), email varchar(255), salary double precision, status varchar(255), " +
+                "manager_id bigint, version bigint, inactive_since timestamp)");
+        jdbcTemplate.execute("create table employee_archive (id bigint primary key, name varchar(255), " +
+                "department varchar(255), email varchar(255), salary double precision, status varchar(255), " +
+                "manager_id bigint, version bigint, inactive_since timestamp, archived_at timestamp)");
+        jdbcTemplate.execute("create table employee_list_version (id integer primary key, version bigint)");
+        jdbcTemplate.execute("create table employee_change (seq bigint primary key, employee_id bigint, " +
+                "type varchar(16), payload varchar(4000), changed_at timestamp)");
+        jdbcTemplate.update("insert into employee values (1, 'Jane', 'IT', 'jane@company.com', 50000, 'ACTIVE', " +
+                "null, 0, null)");
+        jdbcTemplate.update("insert into employee_list_version values (1, 5)");
+
+        changeLog = mock(EmployeeChangeLog.class);
+        when(changeLog.changesSince(anyLong(), anyInt())).thenReturn(new ChangeBatchDTO(List.of(), 0, false));
+        sync = new LocalReplicaSync(primary, List.of(replica), changeLog, new ObjectMapper(), new ReplicaProperties());
+        sync.copy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void replay_CarriesInactiveSinceFromPrimary() {
+        new JdbcTemplate(primary).update("update employee set status = 'INACTIVE', version = 1, inactive_since = ? " +
+                "where id = 1", Timestamp.from(INACTIVE_SINCE));
+        EmployeeDTO employee = new EmployeeDTO(1L, "Jane", "IT", "jane@company.com", 50000.0, "INACTIVE", null, 1L);
+        when(changeLog.changesSince(anyLong(), anyInt())).thenReturn(new ChangeBatchDTO(
+                List.of(new EmployeeChangeDTO(1L, "DELETED", 1L, employee, Instant.now())), 1, false));
+
+        sync.replay();
+
+        Map<String, Object> row = new JdbcTemplate(replica).queryForMap(
+                "select status, inactive_since from employee where id = 1");
+        assertEquals("INACTIVE", row.get("STATUS"));
+        assertEquals(Timestamp.from(INACTIVE_SINCE), row.get("INACTIVE_SINCE"));
+    }
+
+    @Test
+    void replay_MovesArchivedEmployeesOutOfReplicaHotTable() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primary);
+        jdbcTemplate.update("update employee set status = 'INACTIVE', version = 3 where id = 1");
+        new JdbcTemplate(replica).update("update employee set status = 'INACTIVE', version = 3 where id = 1");
+        jdbcTemplate.update("insert into employee_archive select id, name, department, email, salary, status, " +
+                "manager_id, version, inactive_since, ? from employee where id = 1", Timestamp.from(Instant.now()));
+        jdbcTemplate.update("delete from employee where id = 1");
+        EmployeeDTO archived = new EmployeeDTO(1L, "Jane", "IT", "jane@company.com", 50000.0, "INACTIVE", null, 3L);
+
+        sync.onEmployeesArchived(new EmployeesArchivedEvent(List.of(archived)));
+        sync.replay();
+        // replaying the same chunk again leaves the replica as it is
+        sync.onEmployeesArchived(new EmployeesArchivedEvent(List.of(archived)));
+        sync.replay();
+
+        JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replica);
+        assertEquals(0, replicaJdbcTemplate.queryForObject("select count(*) from employee", Long.class));
+        assertEquals(1, replicaJdbcTemplate.queryForObject("select count(*) from employee_archive", Long.class));
+    }
+
+    @Test
+    void replay_AdvancesListVersionOncePerChangeNotYetOnReplica() {
+        EmployeeDTO first = new EmployeeDTO(1L, "Jane", "IT", "jane@company.com", 51000.0, "ACTIVE", null, 1L);
+        EmployeeDTO second = new EmployeeDTO(1L, "Jane", "IT", "jane@company.com", 52000.0, "ACTIVE", null, 2L);
+        Instant changedAt = Instant.now().minusSeconds(10);
+        // the initial copy already contained the first change
+        new JdbcTemplate(replica).update("insert into employee_change values (1, 1, 'UPDATED', '{}', ?)",
+                Timestamp.from(changedAt));
+        when(changeLog.changesSince(anyLong(), anyInt())).thenReturn(new ChangeBatchDTO(List.of(
+                new EmployeeChangeDTO(1L, "UPDATED", 1L, first, changedAt),
+                new EmployeeChangeDTO(2L, "UPDATED", 1L, second, changedAt)), 2, false));
+
+        sync.replay();
+
+        JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replica);
+        assertEquals(6, replicaJdbcTemplate.queryForObject("select version from employee_list_version", Long.class));
+        assertEquals(52000.0, replicaJdbcTemplate.queryForObject("select salary from employee where id = 1", Double.class));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        // dropped when the pool closes, so every test starts from empty databases
+        dataSource.setJdbcUrl("jdbc:h2:mem:local-sync-" + name);
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.employeemanagement.replica;
+
+import com.example.employeemanagement.config.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// three in-memory H2 databases play the primary and two replicas; each knows its own name
+class ReplicaRouterTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica1;
+    private HikariDataSource replica2;
+    private ReplicaRouter router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica-1");
+        replica2 = database("replica-2");
+        ReplicaProperties properties = new ReplicaProperties();
+        router = new ReplicaRouter(primary, List.of(replica1, replica2), properties, new SimpleMeterRegistry());
+        router.checkLag();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router.getPrimary());
+        dataSource.setReadOnlyDataSource(router.getReadOnlyDataSource());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+        router.close();
+    }
+
+    @Test
+    void readOnlyTransactions_AlternateBetweenReplicas() {
+        assertEquals("replica-1", node(readOnly));
+        assertEquals("replica-2", node(readOnly));
+        assertEquals("replica-1", node(readOnly));
+    }
+
+    @Test
+    void readWriteTransactions_UsePrimary() {
+        assertEquals("primary", node(readWrite));
+    }
+
+    @Test
+    void recentWriteInSession_ReadsFromPrimaryUntilWindowPasses() {
+        ReadYourWrites.setLastWrite(System.currentTimeMillis());
+        assertEquals("primary", node(readOnly));
+
+        ReadYourWrites.setLastWrite(System.currentTimeMillis() - 60_000);
+        assertEquals("replica-1", node(readOnly));
+    }
+
+    @Test
+    void recentWriteInSession_FollowsWrappedTasksToOtherThreads() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ReadYourWrites.setLastWrite(System.currentTimeMillis());
+
+            assertEquals("primary", CompletableFuture.supplyAsync(() -> node(readOnly),
+                    task -> executor.execute(ReadYourWrites.wrap(task))).join());
+            // the worker does not keep the session once the task is done
+            assertEquals("replica-1", CompletableFuture.supplyAsync(() -> node(readOnly), executor).join());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void checkLag_SkipsReplicasThatFallBehindOrFail() {
+        Instant now = Instant.now();
+        recordChange(primary, now);
+        recordChange(replica1, now.minusSeconds(10));
+        recordChange(replica2, now);
+        router.checkLag();
+
+        assertEquals("replica-2", node(readOnly));
+        assertEquals("replica-2", node(readOnly));
+
+        new JdbcTemplate(replica2).execute("drop table employee_change");
+        router.checkLag();
+
+        assertEquals("primary", node(readOnly));
+    }
+
+    private String node(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    private static void recordChange(HikariDataSource dataSource, Instant changedAt) {
+        new JdbcTemplate(dataSource).update("insert into employee_change (changed_at) values (?)", Timestamp.from(changedAt));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        // dropped when the pool closes, so every test starts from empty databases
+        dataSource.setJdbcUrl("jdbc:h2:mem:router-" + name);
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(32))");
+        jdbcTemplate.execute("create table employee_change (changed_at timestamp)");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class EmployeeRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("Ann_Lee", "Annie Lee", "100% Jones", "1000 Jones", "Back\\Slash", "Backslash")) {
+            employeeRepository.save(Employee.builder()
+                    .name(name)
+                    .department("IT")
+                    .email(name.replaceAll("\\W", "") + "@company.com")
+                    .salary(50000.0)
+                    .status("ACTIVE")
+                    .build());
+        }
+    }
+
+    @Test
+    void searchByName_MatchesWildcardCharactersLiterally() {
+        assertEquals(List.of("Ann_Lee"), names(employeeRepository.searchByName("n_l")));
+        assertEquals(List.of("100% Jones"), names(employeeRepository.searchByName("0% j")));
+        assertEquals(List.of("Back\\Slash"), names(employeeRepository.searchByName("k\\s")));
+    }
+
+    @Test
+    void searchByName_IsCaseInsensitiveSubstringMatch() {
+        assertEquals(List.of("Ann_Lee", "Annie Lee"), names(employeeRepository.searchByName("ANN")));
+        assertEquals(List.of("100% Jones", "1000 Jones"), names(employeeRepository.searchByName("jones")));
+    }
+
+    private static List<String> names(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getName).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.employeemanagement.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the MySQL migrations, on H2 in MySQL mode, over a database in the state production was in before them: the
+// original employee table with rows in it and no history table, so it is baselined at V1 like production.
+public class SchemaMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createUnversionedDatabase() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // H2 has no UTC_TIMESTAMP even in MySQL mode; utcTimestamp stands in (public, so H2 can call it)
+        jdbcTemplate.execute("create alias utc_timestamp for \"" + SchemaMigrationTest.class.getName() + ".utcTimestamp\"");
+        jdbcTemplate.execute("create table employee (id bigint not null auto_increment, name varchar(255), " +
+                "department varchar(255), email varchar(255), salary float(53), status varchar(255), " +
+                "manager_id bigint, primary key (id))");
+        jdbcTemplate.execute("alter table employee add constraint FKou6wbxug1d0qf9mabut3xqblo " +
+                "foreign key (manager_id) references employee (id)");
+        jdbcTemplate.update("insert into employee (id, name, status) values (1, 'Jane', 'ACTIVE')");
+        jdbcTemplate.update("insert into employee (id, name, status, manager_id) values (7, 'John', 'INACTIVE', 1)");
+        jdbcTemplate.update("insert into employee (id, name, status, manager_id) values (120, 'Ann', 'ACTIVE', 1)");
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void migrate_StartsTheIdSequenceABlockAboveTheExistingIds() {
+        migrate();
+
+        // the pooled optimizer hands out the block 121-170 for this value
+        assertEquals(170L, jdbcTemplate.queryForObject("select next_val from employee_seq", Long.class));
+        assertThrows(DataAccessException.class,
+                () -> jdbcTemplate.update("insert into employee (name, status) values ('Max', 'ACTIVE')"));
+    }
+
+    @Test
+    void migrate_StartsExistingRowsAtVersionZero() {
+        migrate();
+
+        assertEquals(List.of(0L, 0L, 0L), jdbcTemplate.queryForList("select version from employee order by id", Long.class));
+        assertThrows(DataAccessException.class, () -> jdbcTemplate.update("update employee set version = null where id = 1"));
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from employee_list_version where id = 1", Long.class));
+    }
+
+    @Test
+    void migrate_StartsTheRetentionClockOfInactiveEmployeesAtTheMigration() {
+        Instant before = Instant.now();
+        migrate();
+        Instant after = Instant.now();
+
+        assertNull(jdbcTemplate.queryForObject("select inactive_since from employee where id = 1", LocalDateTime.class));
+        Instant inactiveSince = jdbcTemplate.queryForObject("select inactive_since from employee where id = 7",
+                LocalDateTime.class).toInstant(ZoneOffset.UTC);
+        assertTrue(!inactiveSince.isBefore(before) && !inactiveSince.isAfter(after), "inactive since " + inactiveSince);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from employee_archive", Integer.class));
+    }
+
+    @Test
+    void migrate_StartsTheChangeLogAtSeqZero() {
+        migrate();
+
+        assertEquals(0L, jdbcTemplate.queryForObject("select last_seq from employee_change_counter where id = 1", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from employee_change", Integer.class));
+    }
+
+    public static Timestamp utcTimestamp(int precision) {
+        return Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/mysql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.employeemanagement.resilience;
+
+import com.example.employeemanagement.config.ExternalResilienceProperties;
+import com.example.employeemanagement.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExternalResilienceProperties.Limiter config;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new ExternalResilienceProperties.Limiter();
+        config.setInitialLimit(10);
+        config.setMinLimit(2);
+        config.setMaxLimit(20);
+    }
+
+    @Test
+    void callsOverTheLimitAreShedImmediately() {
+        config.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", config, meterRegistry);
+
+        Disposable first = limiter.limit(Mono.never()).subscribe();
+        Disposable second = limiter.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit(Mono.just("ok")))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify();
+        assertEquals(1.0, meterRegistry.get("external.limiter.calls").tag("outcome", "rejected").counter().count());
+
+        first.dispose();
+        assertEquals(1, limiter.getInFlight());
+        StepVerifier.create(limiter.limit(Mono.just("ok"))).expectNext("ok").verifyComplete();
+        second.dispose();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitGrowsWhileHealthyAndBacksOffOnOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", config, meterRegistry);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), limiter.getLimit(), false);
+        }
+        assertEquals(20, limiter.getLimit());
+
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 20, true);
+        assertEquals(18, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 20, true);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void idleLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", config, meterRegistry);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void responsesMuchSlowerThanBaselineShrinkTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", config, meterRegistry);
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100), 5, false);
+
+        assertTrue(limiter.getLimit() < 10);
+        assertEquals(1.0, meterRegistry.get("external.limiter.calls").tag("outcome", "slow").counter().count());
+        assertEquals(limiter.getLimit(), meterRegistry.get("external.limiter.limit").gauge().value());
+    }
+
+    @Test
+    void slowResponsesDoNotRaiseTheBaseline() {
+        config.setMinLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", config, meterRegistry);
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+
+        // averaged in, these would lift the baseline past 15 ms within six samples and stop counting as slow
+        for (int i = 0; i < 8; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(30), limiter.getLimit(), false);
+        }
+
+        assertEquals(8.0, meterRegistry.get("external.limiter.calls").tag("outcome", "slow").counter().count());
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void baselineFollowsLastingSlowdownAtTheMinimumLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", config, meterRegistry);
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(30), limiter.getLimit(), false);
+        }
+
+        // shrunk to the minimum, then grew again once the baseline had caught up with the new latency
+        assertTrue(limiter.getLimit() > 2);
+        assertTrue(meterRegistry.get("external.limiter.calls").tag("outcome", "success").counter().count() > 0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.employeemanagement.search;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeSearchIndex searchIndex;
+
+    // the table behind the index, which loads matched rows by id
+    private final Map<Long, EmployeeDTO> rows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        List.of(employee(1L, "John Doe", "IT", "john.doe@company.com"),
+                employee(2L, "Johnny Walker", "Sales", "jwalker@company.com"),
+                employee(3L, "Mary Johnson", "IT", "mary@company.com"),
+                employee(4L, "Alice Smith", "Johnstown Office", "alice@company.com"))
+                .forEach(employee -> rows.put(employee.getId(), employee));
+        when(employeeRepository.streamAll()).thenReturn(rows.values().stream());
+        lenient().when(employeeRepository.findDtosByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(rows::get).filter(Objects::nonNull).toList());
+        lenient().when(employeeRepository.findDtosInOrder(anyList())).thenCallRealMethod();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_RanksNameMatchesBeforeOtherFields() {
+        List<Long> ids = ids(searchIndex.search("john", 0, false));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids);
+    }
+
+    @Test
+    void search_PrefixModeOnlyMatchesWordStarts() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(searchIndex.search("jo", 0, true)));
+        assertTrue(searchIndex.search("ohn", 0, true).isEmpty());
+        assertEquals(4, searchIndex.search("ohn", 0, false).size());
+    }
+
+    @Test
+    void search_AppliesLimit() {
+        assertEquals(List.of(1L, 2L), ids(searchIndex.search("john", 2, false)));
+    }
+
+    @Test
+    void put_ReplacesPreviousVersionOfDocument() {
+        EmployeeDTO renamed = employee(1L, "Peter Pan", "IT", "peter@company.com");
+        rows.put(1L, renamed);
+        searchIndex.put(renamed);
+
+        assertEquals(List.of(2L, 3L, 4L), ids(searchIndex.search("john", 0, false)));
+        assertEquals(List.of(1L), ids(searchIndex.search("peter", 0, false)));
+        assertEquals(4, searchIndex.size());
+    }
+
+    @Test
+    void remove_DropsDocumentFromEveryPosting() {
+        searchIndex.remove(List.of(1L, 3L));
+
+        assertEquals(List.of(2L, 4L), ids(searchIndex.search("john", 0, false)));
+        assertEquals(List.of(2L, 4L), ids(searchIndex.search("jo", 0, true)));
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void search_ReturnsCurrentRowsForMatches() {
+        rows.put(3L, rows.get(3L).toBuilder().salary(90000.0).build());
+
+        assertEquals(90000.0, searchIndex.search("mary", 0, false).get(0).getSalary());
+    }
+
+    private static EmployeeDTO employee(Long id, String name, String department, String email) {
+        return EmployeeDTO.builder()
+                .id(id)
+                .name(name)
+                .department(department)
+                .email(email)
+                .salary(50000.0)
+                .status("ACTIVE")
+                .build();
+    }
+
+    private static List<Long> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.employeemanagement.seed;
+
+import com.example.employeemanagement.config.SeedProperties;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the generator commits on its own connection, so the usual rollback-per-test does not apply here
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private SeedProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SeedProperties();
+        properties.setCount(2000);
+        properties.setDepth(4);
+        properties.setFanOut(5);
+        properties.setBatchSize(128);
+        properties.setSeed(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("update employee set manager_id = null");
+        jdbcTemplate.update("delete from employee");
+    }
+
+    @Test
+    void generate_BuildsManagerTreesWithinDepth() {
+        assertEquals(2000, new EmployeeDataGenerator(jdbcTemplate, properties).generate());
+
+        Map<Long, Long> managers = new HashMap<>();
+        jdbcTemplate.query("select id, manager_id from employee", rs -> {
+            // wasNull() reports on the last column read, so read manager_id last before asking
+            long managerId = rs.getLong(2);
+            Long manager = rs.wasNull() ? null : managerId;
+            managers.put(rs.getLong(1), manager);
+        });
+        assertEquals(2000, managers.size());
+        long roots = managers.values().stream().filter(m -> m == null).count();
+        assertTrue(roots >= 1 && roots < 100, "unexpected number of top-level managers: " + roots);
+        for (Long id : managers.keySet()) {
+            Long directManager = managers.get(id);
+            assertTrue(directManager == null || directManager < id, "managers are inserted before their reports");
+            int chain = 1;
+            for (Long manager = directManager; manager != null; manager = managers.get(manager)) {
+                chain++;
+            }
+            assertTrue(chain <= 4, "reporting chain of " + id + " is " + chain + " long");
+        }
+    }
+
+    @Test
+    void generate_SameSeedProducesSameRows() {
+        new EmployeeDataGenerator(jdbcTemplate, properties).generate();
+        List<String> first = snapshot();
+        tearDown();
+
+        new EmployeeDataGenerator(jdbcTemplate, properties).generate();
+
+        assertEquals(first, snapshot());
+    }
+
+    @Test
+    void generate_DepartmentSkewFavoursFirstDepartments() {
+        properties.setSameDepartmentRatio(0);
+        properties.setDepartmentSkew(1.5);
+        new EmployeeDataGenerator(jdbcTemplate, properties).generate();
+
+        List<Long> sizes = jdbcTemplate.queryForList(
+                "select count(*) from employee group by department order by count(*) desc", Long.class);
+        assertTrue(sizes.get(0) > 5 * sizes.get(sizes.size() - 1));
+    }
+
+    @Test
+    void generate_IdSequenceContinuesAfterGeneratedRows() {
+        new EmployeeDataGenerator(jdbcTemplate, properties).generate();
+
+        Employee saved = employeeRepository.save(Employee.builder()
+                .name("New Hire")
+                .department("Engineering")
+                .email("new.hire@company.com")
+                .salary(50000.0)
+                .status("ACTIVE")
+                .build());
+
+        assertTrue(saved.getId() > 2000);
+    }
+
+    @Test
+    void generate_DatesInactiveEmployeesWithinInactiveMaxAge() {
+        properties.setInactiveRatio(0.5);
+        properties.setInactiveMaxAge(Duration.ofDays(10));
+        Instant before = Instant.now();
+        new EmployeeDataGenerator(jdbcTemplate, properties).generate();
+        Instant after = Instant.now();
+
+        jdbcTemplate.query("select status, inactive_since from employee", rs -> {
+            OffsetDateTime inactiveSince = rs.getObject(2, OffsetDateTime.class);
+            if ("ACTIVE".equals(rs.getString(1))) {
+                assertNull(inactiveSince);
+            } else {
+                Instant at = inactiveSince.toInstant();
+                assertTrue(at.isBefore(after) && !at.isBefore(before.minus(Duration.ofDays(10))), "inactive since " + at);
+            }
+        });
+    }
+
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList(
+                "select concat(name, '|', department, '|', salary, '|', status, '|', coalesce(manager_id, 0)) " +
+                        "from employee order by id", String.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.service.impl.CachingEmployeeServiceExternal;
+import com.example.employeemanagement.service.impl.EmployeeServiceExternalImpl;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmployeeServiceExternalTest {
+    @Mock
+    private EmployeeServiceExternalImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void fetchExternalInfo_ConcurrentCallersShareOneRequest() {
+        CachingEmployeeServiceExternal service = service(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        Sinks.One<String> response = Sinks.one();
+        when(delegate.fetchExternalInfo("1")).thenReturn(response.asMono());
+
+        Mono<String> first = service.fetchExternalInfo("1");
+        Mono<String> second = service.fetchExternalInfo("1");
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("{\"id\":1}"))
+                .assertNext(both -> {
+                    assertEquals("{\"id\":1}", both.getT1());
+                    assertEquals("{\"id\":1}", both.getT2());
+                })
+                .verifyComplete();
+
+        verify(delegate, times(1)).fetchExternalInfo("1");
+        assertEquals(1.0, meterRegistry.get("external.info.outbound").counter().count());
+    }
+
+    @Test
+    void fetchExternalInfo_FreshEntryServedFromCache() {
+        CachingEmployeeServiceExternal service = service(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(delegate.fetchExternalInfo("1")).thenReturn(Mono.just("{\"id\":1}"));
+
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+
+        verify(delegate, times(1)).fetchExternalInfo("1");
+        assertEquals(1.0, meterRegistry.get("external.info.cache").tag("result", "fresh").counter().count());
+    }
+
+    @Test
+    void fetchExternalInfo_StaleEntryServedWhileRefreshing() {
+        CachingEmployeeServiceExternal service = service(Duration.ZERO, Duration.ofMinutes(5));
+        when(delegate.fetchExternalInfo("1"))
+                .thenReturn(Mono.just("{\"v\":1}"))
+                .thenReturn(Mono.just("{\"v\":2}"));
+
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"v\":1}").verifyComplete();
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"v\":1}").verifyComplete();
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"v\":2}").verifyComplete();
+
+        assertEquals(2.0, meterRegistry.get("external.info.cache").tag("result", "stale").counter().count());
+    }
+
+    @Test
+    void fetchExternalInfo_ExpiredEntryServedWhenCircuitIsOpen() {
+        CachingEmployeeServiceExternal service = service(Duration.ZERO, Duration.ZERO);
+        CallNotPermittedException open = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("externalServiceCB"));
+        when(delegate.fetchExternalInfo("1"))
+                .thenReturn(Mono.just("{\"id\":1}"))
+                .thenReturn(Mono.error(open));
+
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("external.info.cache").tag("result", "stale-on-error").counter().count());
+    }
+
+    @Test
+    void fetchExternalInfo_OtherErrorsArePropagated() {
+        CachingEmployeeServiceExternal service = service(Duration.ZERO, Duration.ZERO);
+        when(delegate.fetchExternalInfo("1"))
+                .thenReturn(Mono.just("{\"id\":1}"))
+                .thenReturn(Mono.error(new IllegalStateException("bad response")));
+
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+        StepVerifier.create(service.fetchExternalInfo("1")).expectError(IllegalStateException.class).verify();
+    }
+
+    private CachingEmployeeServiceExternal service(Duration freshTtl, Duration staleTtl) {
+        return new CachingEmployeeServiceExternal(delegate, meterRegistry, freshTtl, staleTtl, Duration.ofHours(1), 100);
+    }
+}
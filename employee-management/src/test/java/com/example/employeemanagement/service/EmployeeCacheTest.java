@@ -0,0 +1,170 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.analytics.EmployeeColumnStore;
+import com.example.employeemanagement.config.CacheConfig;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.hierarchy.OrgChartIndex;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
+import com.example.employeemanagement.service.impl.EmployeeServiceImpl;
+import com.example.employeemanagement.stats.DepartmentStatsAggregator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CacheConfig.class, EmployeeServiceImpl.class, EmployeeSearchIndex.class, OrgChartIndex.class,
+        DepartmentStatsAggregator.class, EmployeeColumnStore.class, ObjectMapper.class, LocalValidatorFactoryBean.class,
+        EmployeeCacheTest.ReadDuringCommit.class})
+// evictions only mean something once the change is committed, so nothing here runs inside a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeCacheTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @MockitoSpyBean
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ReadDuringCommit readDuringCommit;
+
+    private Statistics statistics;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = employeeRepository.save(Employee.builder()
+                .name("Jane")
+                .department("IT")
+                .email("jane@company.com")
+                .salary(50000.0)
+                .status("ACTIVE")
+                .build()).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        readDuringCommit.enabled = false;
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        jdbcTemplate.update("delete from employee");
+    }
+
+    @Test
+    void getEmployeeById_SecondReadIsServedFromCache() {
+        employeeService.getEmployeeById(id);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("Jane", employeeService.getEmployeeById(id).getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getEmployeeById_ReturnsCopiesOfTheCachedValue() {
+        employeeService.getEmployeeById(id).setSalary(1.0);
+
+        EmployeeDTO cached = employeeService.getEmployeeById(id);
+        cached.setName("Changed");
+
+        assertEquals(50000.0, employeeService.getEmployeeById(id).getSalary());
+        assertEquals("Jane", employeeService.getEmployeeById(id).getName());
+    }
+
+    @Test
+    void getEmployeeById_LoadsCacheMissesInReadWriteTransaction() {
+        AtomicReference<Boolean> readOnly = new AtomicReference<>();
+        doAnswer(invocation -> {
+            readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return Optional.of(Employee.builder().id(id).name("Jane").status("ACTIVE").build());
+        }).when(employeeRepository).findById(id);
+
+        employeeService.getEmployeeById(id);
+
+        // a readOnly transaction would be routed to a replica, which may not have seen the last update yet
+        assertEquals(Boolean.FALSE, readOnly.get());
+    }
+
+    @Test
+    void updateEmployee_EvictsCachedEmployee() {
+        EmployeeDTO employee = employeeService.getEmployeeById(id);
+        employee.setSalary(60000.0);
+
+        employeeService.updateEmployee(id, employee);
+
+        assertEquals(60000.0, employeeService.getEmployeeById(id).getSalary());
+    }
+
+    @Test
+    void deleteEmployee_EvictsCachedEmployee() {
+        employeeService.getEmployeeById(id);
+
+        employeeService.deleteEmployee(id);
+
+        assertEquals("INACTIVE", employeeService.getEmployeeById(id).getStatus());
+    }
+
+    @Test
+    void updateEmployee_EvictsAfterCommitSoReadsDuringCommitDoNotStick() {
+        EmployeeDTO employee = employeeService.getEmployeeById(id);
+        employee.setSalary(60000.0);
+        readDuringCommit.enabled = true;
+
+        employeeService.updateEmployee(id, employee);
+
+        // the concurrent read saw the committed row as it was and cached it; the eviction has to come after that
+        assertEquals(50000.0, readDuringCommit.seen.getSalary());
+        assertEquals(60000.0, employeeService.getEmployeeById(id).getSalary());
+    }
+
+    // another request reading the employee while the update is committing
+    @TestConfiguration
+    static class ReadDuringCommit {
+
+        private final EmployeeService employeeService;
+        volatile boolean enabled;
+        volatile EmployeeDTO seen;
+
+        ReadDuringCommit(EmployeeService employeeService) {
+            this.employeeService = employeeService;
+        }
+
+        @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+        void onChange(EmployeeChangedEvent event) {
+            if (enabled) {
+                seen = CompletableFuture.supplyAsync(() -> employeeService.getEmployeeById(event.getEmployee().getId())).join();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.analytics.EmployeeColumnStore;
+import com.example.employeemanagement.config.HibernateCacheConfig;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.hierarchy.OrgChartIndex;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
+import com.example.employeemanagement.service.impl.EmployeeServiceImpl;
+import com.example.employeemanagement.stats.DepartmentStatsAggregator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({HibernateCacheConfig.class, EmployeeServiceImpl.class, EmployeeSearchIndex.class, OrgChartIndex.class,
+        DepartmentStatsAggregator.class, EmployeeColumnStore.class, ObjectMapper.class, LocalValidatorFactoryBean.class})
+// the caches are only filled and invalidated on commit, so nothing here runs inside a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSecondLevelCacheTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long managerId;
+
+    @BeforeEach
+    void setUp() {
+        managerId = employeeRepository.save(Employee.builder()
+                .name("Manager")
+                .department("Management")
+                .email("manager@company.com")
+                .salary(90000.0)
+                .status("ACTIVE")
+                .build()).getId();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("update employee set manager_id = null");
+        jdbcTemplate.update("delete from employee");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void createEmployee_LoadsManagerFromEntityCacheAfterFirstMiss() {
+        employeeService.createEmployee(report("first"));
+        employeeService.createEmployee(report("second"));
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.EMPLOYEE_REGION);
+        assertEquals(1, region.getMissCount());
+        assertEquals(1, region.getHitCount());
+    }
+
+    @Test
+    void getEmployeesByManager_IsServedFromQueryCacheUntilAnEmployeeChanges() {
+        EmployeeDTO report = employeeService.createEmployee(report("report"));
+        statistics.clear();
+
+        assertEquals(1, employeeService.getEmployeesByManager(managerId).size());
+        assertEquals(1, employeeService.getEmployeesByManager(managerId).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        report.setSalary(75000.0);
+        employeeService.updateEmployee(report.getId(), report);
+        statistics.clear();
+
+        List<EmployeeDTO> reports = employeeService.getEmployeesByManager(managerId);
+        assertEquals(75000.0, reports.get(0).getSalary());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    private EmployeeDTO report(String name) {
+        return EmployeeDTO.builder()
+                .name(name)
+                .department("Engineering")
+                .email(name + "@company.com")
+                .salary(70000.0)
+                .status("ACTIVE")
+                .managerId(managerId)
+                .build();
+    }
+}
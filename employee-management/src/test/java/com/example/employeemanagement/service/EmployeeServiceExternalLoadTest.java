@@ -0,0 +1,111 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ExternalHttpClientProperties;
+import com.example.employeemanagement.config.ExternalResilienceProperties;
+import com.example.employeemanagement.config.WebClientConfig;
+import com.example.employeemanagement.exception.ConcurrencyLimitExceededException;
+import com.example.employeemanagement.resilience.AdaptiveConcurrencyLimiter;
+import com.example.employeemanagement.service.impl.EmployeeServiceExternalImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// burst of lookups against a deliberately slow upstream: concurrency stays capped and no caller waits past its budget
+class EmployeeServiceExternalLoadTest {
+
+    private static final int CALLS = 200;
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(300);
+    private static final Duration READ_BUDGET = Duration.ofSeconds(1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private EmployeeServiceExternalImpl external;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return response.sendString(Mono.just("{}")
+                            .delayElement(UPSTREAM_DELAY)
+                            .doFinally(signal -> inFlight.decrementAndGet()));
+                })
+                .bindNow();
+
+        ExternalHttpClientProperties httpProperties = new ExternalHttpClientProperties();
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.externalConnectionProvider(httpProperties);
+        WebClient webClient = config.webClient(WebClient.builder(), connectionProvider, httpProperties);
+
+        ExternalResilienceProperties resilience = new ExternalResilienceProperties();
+        resilience.getReadLimiter().setInitialLimit(5);
+        resilience.getReadLimiter().setMaxLimit(10);
+        resilience.getRetry().setReadBudget(READ_BUDGET);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        readLimiter = new AdaptiveConcurrencyLimiter("read", resilience.getReadLimiter(), meterRegistry);
+        external = new EmployeeServiceExternalImpl(webClient, readLimiter,
+                new AdaptiveConcurrencyLimiter("write", resilience.getWriteLimiter(), meterRegistry), resilience);
+        ReflectionTestUtils.setField(external, "externalServiceUrl", "http://localhost:" + server.port() + "/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        server.disposeNow();
+    }
+
+    @Test
+    void burstAgainstSlowUpstreamIsShedAndBounded() {
+        List<Outcome> outcomes = Flux.range(0, CALLS)
+                .flatMap(i -> timed(external.fetchExternalInfo(String.valueOf(i))), CALLS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        long succeeded = outcomes.stream().filter(outcome -> outcome.error() == null).count();
+        long shed = outcomes.stream().filter(outcome -> outcome.error() instanceof ConcurrencyLimitExceededException).count();
+        long slowest = outcomes.stream().mapToLong(Outcome::millis).max().orElseThrow();
+
+        assertEquals(CALLS, outcomes.size());
+        assertTrue(succeeded > 0, "some calls should get through");
+        assertTrue(shed > 0, "calls over the limit should be shed");
+        assertTrue(maxInFlight.get() <= 10, "upstream saw " + maxInFlight.get() + " concurrent calls");
+        assertTrue(slowest < READ_BUDGET.toMillis() + 500, "slowest call took " + slowest + "ms");
+        assertEquals(0, readLimiter.getInFlight());
+    }
+
+    private Mono<Outcome> timed(Mono<String> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .map(body -> new Outcome(null, elapsedMillis(start)))
+                    .onErrorResume(ex -> Mono.just(new Outcome(ex, elapsedMillis(start))));
+        });
+    }
+
+    private static long elapsedMillis(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private record Outcome(Throwable error, long millis) {
+    }
+}
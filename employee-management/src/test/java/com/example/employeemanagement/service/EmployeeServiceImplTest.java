@@ -1,26 +1,54 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.BulkItemResultDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeePageDTO;
+import com.example.employeemanagement.dto.EmployeeQueryResultDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
+import com.example.employeemanagement.exception.EmployeeVersionConflictException;
+import com.example.employeemanagement.hierarchy.OrgChartIndex;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.ArchivedEmployeeRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
+import com.example.employeemanagement.stats.DepartmentStatsAggregator;
 import com.example.employeemanagement.service.impl.EmployeeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +58,22 @@ class EmployeeServiceImplTest {
     private EmployeeRepository employeeRepository;
     @Mock
     private WebClient webClient;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Validator validator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Mock
+    private OrgChartIndex orgChartIndex;
+    @Mock
+    private DepartmentStatsAggregator departmentStatsAggregator;
+    @Mock
+    private ArchivedEmployeeRepository archivedEmployeeRepository;
 
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -65,6 +109,9 @@ class EmployeeServiceImplTest {
         testEmployeeDTO.setSalary(50000.0);
         testEmployeeDTO.setStatus("ACTIVE");
         testEmployeeDTO.setManagerId(2L);
+
+        ReflectionTestUtils.setField(employeeService, "bulkBatchSize", 2);
+        ReflectionTestUtils.setField(employeeService, "bulkMaxItems", 100);
     }
 
     @Test
@@ -128,45 +175,36 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void getEmployeesByManager_Success() {
-        List<Employee> employees = Arrays.asList(testEmployee);
-        when(employeeRepository.findByManager_Id(2L)).thenReturn(employees);
-
-        List<EmployeeDTO> results = employeeService.getEmployeesByManager(2L);
+    void getEmployeeById_ReadsThroughToArchive() {
+        EmployeeDTO archived = EmployeeDTO.builder().id(1L).name("John Doe").status("INACTIVE").managerId(2L).build();
+        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedEmployeeRepository.findDtoById(1L)).thenReturn(Optional.of(archived));
 
-        assertNotNull(results);
-        assertEquals(1, results.size());
-        assertEquals(2L, results.get(0).getManagerId());
-        assertEquals("ACTIVE", results.get(0).getStatus());
+        assertSame(archived, employeeService.getEmployeeById(1L));
     }
 
     @Test
-    void getEmployeesByManager_FilterInactiveEmployees() {
-        Employee inactiveEmployee = new Employee();
-        inactiveEmployee.setId(3L);
-        inactiveEmployee.setStatus("INACTIVE");
-        inactiveEmployee.setManager(testManager);
-
-        when(employeeRepository.findByManager_Id(2L))
-                .thenReturn(Arrays.asList(testEmployee, inactiveEmployee));
+    void getEmployeesByManager_Success() {
+        when(employeeRepository.findActiveByManagerId(2L)).thenReturn(Arrays.asList(testEmployeeDTO));
 
         List<EmployeeDTO> results = employeeService.getEmployeesByManager(2L);
 
+        assertNotNull(results);
         assertEquals(1, results.size());
+        assertEquals(2L, results.get(0).getManagerId());
         assertEquals("ACTIVE", results.get(0).getStatus());
     }
 
     @Test
     void getAllEmployees_Success() {
-        List<Employee> employees = Arrays.asList(testEmployee);
-        when(employeeRepository.findAll()).thenReturn(employees);
+        when(employeeRepository.findActiveEmployees()).thenReturn(Arrays.asList(testEmployeeDTO));
 
         List<EmployeeDTO> results = employeeService.getAllEmployees();
 
         assertNotNull(results);
         assertEquals(1, results.size());
         assertEquals(testEmployee.getName(), results.get(0).getName());
-        verify(employeeRepository).findAll();
+        verify(employeeRepository).findActiveEmployees();
     }
 
     @Test
@@ -219,6 +257,37 @@ class EmployeeServiceImplTest {
         );
     }
 
+    @Test
+    void updateEmployee_WithStaleVersion_ThrowsConflict() {
+        testEmployee.setVersion(3L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        assertThrows(EmployeeVersionConflictException.class, () ->
+                employeeService.updateEmployee(1L, testEmployeeDTO, 2L)
+        );
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateEmployee_WithCurrentVersion_FlushesToGetTheNewVersion() {
+        testEmployee.setVersion(3L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.findById(2L)).thenReturn(Optional.of(testManager));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+
+        employeeService.updateEmployee(1L, testEmployeeDTO, 3L);
+
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void getEmployeeVersion_NotFound() {
+        when(employeeRepository.findVersionById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeVersion(9L));
+    }
+
     @Test
     void deleteEmployee_Success() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
@@ -231,6 +300,31 @@ class EmployeeServiceImplTest {
         ));
     }
 
+    @Test
+    void deleteEmployee_PublishesChangeWithPreviousState() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        employeeService.deleteEmployee(1L);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof EmployeeChangedEvent
+                        && "ACTIVE".equals(((EmployeeChangedEvent) event).getPrevious().getStatus())
+                        && "INACTIVE".equals(((EmployeeChangedEvent) event).getEmployee().getStatus())
+        ));
+    }
+
+    @Test
+    void deleteEmployee_StartsRetentionClockOnlyWhenLeavingActive() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        employeeService.deleteEmployee(1L);
+        Instant inactiveSince = testEmployee.getInactiveSince();
+        assertNotNull(inactiveSince);
+
+        employeeService.deleteEmployee(1L);
+        assertSame(inactiveSince, testEmployee.getInactiveSince());
+    }
+
     @Test
     void deleteEmployee_NotFound() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
@@ -243,43 +337,37 @@ class EmployeeServiceImplTest {
     @Test
     void searchEmployee_Success() {
         String searchName = "John";
-        List<Employee> employees = Arrays.asList(testEmployee);
-        when(employeeRepository.findByNameContainingIgnoreCase(searchName)).thenReturn(employees);
+        when(employeeRepository.searchByName(searchName)).thenReturn(Arrays.asList(testEmployeeDTO));
 
         List<EmployeeDTO> results = employeeService.searchEmployee(searchName);
 
         assertNotNull(results);
         assertEquals(1, results.size());
         assertEquals(testEmployee.getName(), results.get(0).getName());
-        verify(employeeRepository).findByNameContainingIgnoreCase(searchName);
+        verify(employeeRepository).searchByName(searchName);
+    }
+
+    @Test
+    void searchEmployee_UsesIndexWhenReady() {
+        when(employeeSearchIndex.isReady()).thenReturn(true);
+        when(employeeSearchIndex.search("jo", 5, true)).thenReturn(Arrays.asList(testEmployeeDTO));
+
+        List<EmployeeDTO> results = employeeService.searchEmployee("jo", 5, true);
+
+        assertEquals(1, results.size());
+        verify(employeeRepository, never()).searchByName(anyString());
     }
 
     @Test
     void searchEmployee_NotFound() {
         String searchName = "NonExistent";
-        when(employeeRepository.findByNameContainingIgnoreCase(searchName)).thenReturn(Collections.emptyList());
+        when(employeeRepository.searchByName(searchName)).thenReturn(Collections.emptyList());
 
         assertThrows(EmployeeNotFoundException.class, () ->
                 employeeService.searchEmployee(searchName)
         );
     }
 
-    @Test
-    void getAllEmployees_FiltersInactiveEmployees() {
-        Employee inactiveEmployee = new Employee();
-        inactiveEmployee.setId(3L);
-        inactiveEmployee.setStatus("INACTIVE");
-        
-        when(employeeRepository.findAll())
-                .thenReturn(Arrays.asList(testEmployee, inactiveEmployee));
-
-        List<EmployeeDTO> results = employeeService.getAllEmployees();
-
-        assertEquals(1, results.size());
-        assertEquals("ACTIVE", results.get(0).getStatus());
-        verify(employeeRepository).findAll();
-    }
-
     @Test
     void createEmployee_WithNullValues_ThrowsException() {
         EmployeeDTO invalidDTO = new EmployeeDTO();
@@ -305,7 +393,7 @@ class EmployeeServiceImplTest {
 
     @Test
     void getAllEmployees_WhenRepositoryThrowsException() {
-        when(employeeRepository.findAll())
+        when(employeeRepository.findActiveEmployees())
                 .thenThrow(new DataAccessException("Database connection failed") {});
 
         assertThrows(DataAccessException.class, () ->
@@ -316,11 +404,221 @@ class EmployeeServiceImplTest {
     @Test
     void searchEmployee_WithEmptyString() {
         String emptySearch = "";
-        when(employeeRepository.findByNameContainingIgnoreCase(emptySearch))
+        when(employeeRepository.searchByName(emptySearch))
                 .thenReturn(Collections.emptyList());
 
         assertThrows(EmployeeNotFoundException.class, () ->
             employeeService.searchEmployee(emptySearch)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getEmployeesPage_ReturnsNextCursorWhenMoreRowsExist() {
+        EmployeeDTO next = new EmployeeDTO();
+        next.setId(5L);
+        next.setStatus("ACTIVE");
+        when(employeeRepository.findByStatusOrderByIdAsc(eq("ACTIVE"), any(Limit.class)))
+                .thenReturn(Arrays.asList(testEmployeeDTO, next));
+
+        EmployeePageDTO page = employeeService.getEmployeesPage(1, null);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(1L, page.getContent().get(0).getId());
+        assertNotNull(page.getNextCursor());
+
+        when(employeeRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq("ACTIVE"), eq(1L), any(Limit.class)))
+                .thenReturn(Collections.singletonList(next));
+
+        EmployeePageDTO secondPage = employeeService.getEmployeesPage(1, page.getNextCursor());
+
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals(5L, secondPage.getContent().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getEmployeesPage_WithInvalidCursor_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                employeeService.getEmployeesPage(10, "not-a-cursor")
+        );
+    }
+
+    @Test
+    void getEmployeesPage_WithLimitOutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                employeeService.getEmployeesPage(0, null)
+        );
+    }
+
+    @Test
+    void queryEmployees_FetchesOneExtraRowAndSortsWithIdTieBreaker() {
+        EmployeeDTO extra = new EmployeeDTO();
+        extra.setId(9L);
+        when(employeeRepository.findDtos(any(), any(Sort.class), eq(20L), eq(11)))
+                .thenReturn(Arrays.asList(testEmployeeDTO, extra));
+
+        EmployeeQueryResultDTO result = employeeService.queryEmployees(EmployeeFilterDTO.builder()
+                .department("IT")
+                .sort(EmployeeFilterDTO.SortField.SALARY)
+                .direction(Sort.Direction.DESC)
+                .page(2)
+                .size(10)
+                .build());
+
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.isHasNext());
+        verify(employeeRepository).findDtos(any(), eq(Sort.by(Sort.Direction.DESC, "salary").and(Sort.by("id"))),
+                eq(20L), eq(11));
+    }
+
+    @Test
+    void queryEmployees_WithInvalidSalaryRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.queryEmployees(
+                EmployeeFilterDTO.builder().minSalary(60000.0).maxSalary(50000.0).build()));
+        verify(employeeRepository, never()).findDtos(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void queryEmployees_WithOffsetBeyondIntRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.queryEmployees(
+                EmployeeFilterDTO.builder().page(Integer.MAX_VALUE / 10).size(20).build()));
+        verify(employeeRepository, never()).findDtos(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void exportEmployees_WritesOneJsonObjectPerLine() throws Exception {
+        when(employeeRepository.streamByStatus("ACTIVE")).thenReturn(Stream.of(testEmployeeDTO));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        employeeService.exportEmployees("ndjson", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertEquals(testEmployeeDTO, objectMapper.readValue(lines[0], EmployeeDTO.class));
+    }
+
+    @Test
+    void exportEmployees_WritesCsvWithHeader() throws Exception {
+        testEmployeeDTO.setName("Doe, John");
+        when(employeeRepository.streamByStatus("ACTIVE")).thenReturn(Stream.of(testEmployeeDTO));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        employeeService.exportEmployees("csv", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,name,department,email,salary,status,managerId", lines[0]);
+        assertEquals("1,\"Doe, John\",IT,john@example.com,50000.0,ACTIVE,2", lines[1]);
+    }
+
+    @Test
+    void exportEmployees_FlushesEveryThousandRows() throws Exception {
+        when(employeeRepository.streamByStatus("ACTIVE")).thenReturn(Stream.generate(() -> testEmployeeDTO).limit(2500));
+        List<Long> linesAtFlush = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                linesAtFlush.add(toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count());
+            }
+        };
+
+        employeeService.exportEmployees("ndjson", out);
+
+        assertEquals(List.of(1000L, 2000L, 2500L), linesAtFlush);
+    }
+
+    @Test
+    void exportEmployees_WithUnsupportedFormat_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                employeeService.exportEmployees("xml", new ByteArrayOutputStream())
+        );
+    }
+
+    @Test
+    void createEmployees_ResolvesManagersOnceAndReportsPerItemResults() {
+        EmployeeDTO orphan = EmployeeDTO.builder().name("Orphan").email("orphan@company.com").managerId(999L).build();
+        when(validator.validate(any(EmployeeDTO.class))).thenReturn(Collections.emptySet());
+        when(employeeRepository.findAllById(anySet())).thenReturn(Collections.singletonList(testManager));
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> batch = invocation.getArgument(0);
+            batch.forEach(e -> e.setId(10L));
+            return batch;
+        });
+
+        List<BulkItemResultDTO> results = employeeService.createEmployees(Arrays.asList(testEmployeeDTO, orphan));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(10L, results.get(0).getId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Manager not found with id: 999", results.get(1).getError());
+        verify(employeeRepository, times(1)).findAllById(anySet());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void createEmployees_WithTooManyItems_ThrowsException() {
+        ReflectionTestUtils.setField(employeeService, "bulkMaxItems", 1);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                employeeService.createEmployees(Arrays.asList(testEmployeeDTO, testEmployeeDTO))
+        );
+    }
+
+    @Test
+    void updateEmployees_ReportsMissingEmployees() {
+        EmployeeDTO missing = EmployeeDTO.builder().id(77L).name("Missing").build();
+        when(employeeRepository.findAllById(anySet()))
+                .thenReturn(Collections.singletonList(testManager))
+                .thenReturn(Collections.singletonList(testEmployee));
+
+        List<BulkItemResultDTO> results = employeeService.updateEmployees(Arrays.asList(testEmployeeDTO, missing));
+
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(testEmployeeDTO.getName(), testEmployee.getName());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Employee not found with id: 77", results.get(1).getError());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateEmployees_WithInvalidItem_RejectsWholeBatch() {
+        EmployeeDTO invalid = EmployeeDTO.builder().id(5L).name("Invalid").email("invalid@gmail.com").build();
+        ConstraintViolation<EmployeeDTO> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Email must be a company email (@company.com)");
+        when(validator.validate(testEmployeeDTO)).thenReturn(Collections.emptySet());
+        when(validator.validate(invalid)).thenReturn(Collections.singleton(violation));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                employeeService.updateEmployees(Arrays.asList(testEmployeeDTO, invalid))
+        );
+
+        assertEquals("Employee at index 1: Email must be a company email (@company.com)", ex.getMessage());
+        verify(employeeRepository, never()).findAllById(anySet());
+        verify(entityManager, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getOrgSubtree_DelegatesToOrgChartIndex() {
+        when(orgChartIndex.isReady()).thenReturn(true);
+        when(orgChartIndex.contains(2L)).thenReturn(true);
+        when(orgChartIndex.subtree(2L, 3)).thenReturn(Arrays.asList(testEmployeeDTO));
+
+        List<EmployeeDTO> results = employeeService.getOrgSubtree(2L, 3);
+
+        assertEquals(1, results.size());
+        verify(orgChartIndex, never()).rebuild();
+    }
+
+    @Test
+    void getReportingChain_NotFound() {
+        when(orgChartIndex.isReady()).thenReturn(true);
+        when(orgChartIndex.contains(99L)).thenReturn(false);
+
+        assertThrows(EmployeeNotFoundException.class, () ->
+                employeeService.getReportingChain(99L)
+        );
+    }
+}
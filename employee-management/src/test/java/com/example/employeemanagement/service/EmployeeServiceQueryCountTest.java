@@ -0,0 +1,151 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.analytics.EmployeeColumnStore;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeeQueryResultDTO;
+import com.example.employeemanagement.hierarchy.OrgChartIndex;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.search.EmployeeSearchIndex;
+import com.example.employeemanagement.service.impl.EmployeeServiceImpl;
+import com.example.employeemanagement.stats.DepartmentStatsAggregator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EmployeeServiceImpl.class, EmployeeSearchIndex.class, OrgChartIndex.class, DepartmentStatsAggregator.class,
+        EmployeeColumnStore.class, ObjectMapper.class, LocalValidatorFactoryBean.class})
+class EmployeeServiceQueryCountTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private Statistics statistics;
+    private Long firstManagerId;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> managers = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Employee manager = Employee.builder()
+                    .name("Manager " + i)
+                    .department("Management")
+                    .email("manager" + i + "@company.com")
+                    .salary(90000.0)
+                    .status("ACTIVE")
+                    .build();
+            entityManager.persist(manager);
+            managers.add(manager);
+        }
+        for (int i = 1; i <= 50; i++) {
+            entityManager.persist(Employee.builder()
+                    .name("Employee " + i)
+                    .department("Department " + (i % 3))
+                    .email("employee" + i + "@company.com")
+                    .salary(40000.0 + i)
+                    .status(i % 10 == 0 ? "INACTIVE" : "ACTIVE")
+                    .manager(managers.get(i % managers.size()))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        firstManagerId = managers.get(0).getId();
+        employeeSearchIndex.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllEmployees_IssuesSingleStatement() {
+        List<EmployeeDTO> results = employeeService.getAllEmployees();
+
+        assertEquals(50, results.size());
+        assertTrue(results.stream().allMatch(e -> "ACTIVE".equals(e.getStatus())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void searchEmployee_IsServedFromIndex() {
+        List<EmployeeDTO> results = employeeService.searchEmployee("employee 1");
+
+        assertEquals(11, results.size());
+        // matching runs in memory; the matched rows come from one lookup by id
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getEmployeesByManager_IssuesSingleStatement() {
+        List<EmployeeDTO> results = employeeService.getEmployeesByManager(firstManagerId);
+
+        assertEquals(5, results.size());
+        assertTrue(results.stream().allMatch(e -> firstManagerId.equals(e.getManagerId())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void queryEmployees_PushesFiltersSortAndPagingIntoOneStatement() {
+        EmployeeQueryResultDTO result = employeeService.queryEmployees(EmployeeFilterDTO.builder()
+                .department("Department 1")
+                .status("active")
+                .minSalary(40010.0)
+                .maxSalary(40040.0)
+                .emailDomain("Company.com")
+                .sort(EmployeeFilterDTO.SortField.SALARY)
+                .direction(Sort.Direction.DESC)
+                .size(5)
+                .build());
+
+        assertEquals(5, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(40037.0, result.getContent().get(0).getSalary());
+        assertTrue(result.getContent().stream().allMatch(e -> "ACTIVE".equals(e.getStatus())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        EmployeeQueryResultDTO lastPage = employeeService.queryEmployees(EmployeeFilterDTO.builder()
+                .department("Department 1")
+                .status("ACTIVE")
+                .minSalary(40010.0)
+                .maxSalary(40040.0)
+                .page(1)
+                .size(5)
+                .build());
+        assertEquals(4, lastPage.getContent().size());
+        assertFalse(lastPage.isHasNext());
+    }
+
+    @Test
+    void getEmployeesVersion_IssuesSinglePrimaryKeyLookup() {
+        String version = employeeService.getEmployeesVersion();
+
+        assertTrue(version.matches("\\d+"), version);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
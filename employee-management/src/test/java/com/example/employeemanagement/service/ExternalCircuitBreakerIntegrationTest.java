@@ -0,0 +1,140 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.exception.ConcurrencyLimitExceededException;
+import com.example.employeemanagement.service.impl.CachingEmployeeServiceExternal;
+import com.example.employeemanagement.service.impl.EmployeeServiceExternalImpl;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// real upstream failures through the annotated service, not fabricated breaker exceptions
+@SpringBootTest(properties = {
+        "app.external.cache.fresh-ttl=0s",
+        "app.external.cache.stale-ttl=0s",
+        "app.external.resilience.retry.max-attempts=1",
+        "resilience4j.circuitbreaker.instances.externalServiceCB.sliding-window-size=4",
+        "resilience4j.circuitbreaker.instances.externalServiceCB.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.instances.externalServiceCB.wait-duration-in-open-state=1m"})
+class ExternalCircuitBreakerIntegrationTest {
+
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static volatile int status = 200;
+    private static volatile Duration delay = Duration.ZERO;
+
+    private static final DisposableServer upstream = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> request.receive().then(Mono.delay(delay)).then(Mono.defer(() -> {
+                requests.incrementAndGet();
+                return response.status(status).sendString(Mono.just("{\"id\":1}")).then();
+            })))
+            .bindNow();
+
+    @Autowired
+    private CachingEmployeeServiceExternal service;
+    @Autowired
+    private EmployeeServiceExternalImpl external;
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    @DynamicPropertySource
+    static void upstreamUrl(DynamicPropertyRegistry registry) {
+        registry.add("json.service.url", () -> "http://localhost:" + upstream.port() + "/posts/");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        status = 200;
+        delay = Duration.ZERO;
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker("externalServiceCB");
+        circuitBreaker.reset();
+    }
+
+    @Test
+    void upstreamFailures_OpenTheBreakerAndStaleCopyIsServed() {
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+        double staleBefore = staleOnError();
+        // only the failures below count towards opening
+        circuitBreaker.reset();
+
+        status = 503;
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+
+        int sent = requests.get();
+        StepVerifier.create(service.fetchExternalInfo("1")).expectNext("{\"id\":1}").verifyComplete();
+        assertEquals(sent, requests.get(), "an open breaker must not reach the upstream");
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+        assertEquals(5, staleOnError() - staleBefore);
+    }
+
+    @Test
+    void shedCallsDoNotCountButUpstreamFailuresBehindTheLimiterTripTheBreaker() {
+        List<EmployeeDTO> batch = List.of(EmployeeDTO.builder().id(1L).name("Jane").build());
+
+        // a slow but healthy upstream: the write limiter sheds most of a burst, the breaker ignores the sheds
+        delay = Duration.ofMillis(200);
+        Map<String, Long> burst = Flux.range(0, 20)
+                .flatMap(i -> outcome(external.postEmployeesToExternal(batch)), 20)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .block(Duration.ofSeconds(10));
+        assertTrue(burst.getOrDefault(ConcurrencyLimitExceededException.class.getSimpleName(), 0L) > 0, burst.toString());
+        assertTrue(burst.getOrDefault("ok", 0L) > 0, burst.toString());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+
+        // the same path failing for real opens it
+        delay = Duration.ZERO;
+        status = 503;
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(external.postEmployeesToExternal(batch)).expectError().verify(Duration.ofSeconds(5));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        int sent = requests.get();
+        StepVerifier.create(external.postEmployeesToExternal(batch)).expectError(CallNotPermittedException.class).verify();
+        assertEquals(sent, requests.get());
+    }
+
+    private static Mono<String> outcome(Mono<String> call) {
+        return call.map(body -> "ok").onErrorResume(ex -> Mono.just(ex.getClass().getSimpleName()));
+    }
+
+    private double staleOnError() {
+        return meterRegistry.get("external.info.cache").tag("result", "stale-on-error").counter().count();
+    }
+}
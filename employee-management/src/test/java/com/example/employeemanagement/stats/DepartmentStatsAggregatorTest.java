@@ -0,0 +1,181 @@
+package com.example.employeemanagement.stats;
+
+import com.example.employeemanagement.dto.DepartmentStatsDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.EmployeesArchivedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentStatsAggregatorTest {
+
+    private static final List<DepartmentStatusAggregate> ROWS = Arrays.asList(
+            new DepartmentStatusAggregate("IT", "ACTIVE", 50000.0, 1L),
+            new DepartmentStatusAggregate("IT", "ACTIVE", 60000.0, 1L),
+            new DepartmentStatusAggregate("IT", "INACTIVE", 40000.0, 1L),
+            new DepartmentStatusAggregate("Sales", "ACTIVE", 45000.0, 1L));
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private DepartmentStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.aggregateByDepartmentStatusAndSalary()).thenReturn(ROWS);
+        aggregator.reconcile();
+    }
+
+    @Test
+    void reconcile_LoadsAggregatesPerDepartment() {
+        List<DepartmentStatsDTO> stats = aggregator.snapshot();
+
+        assertEquals(2, stats.size());
+        DepartmentStatsDTO it = stats.get(0);
+        assertEquals("IT", it.getDepartment());
+        assertEquals(3, it.getHeadcount());
+        assertEquals(2, it.getActiveCount());
+        assertEquals(1, it.getInactiveCount());
+        assertEquals(110000.0, it.getTotalSalary());
+        assertEquals(55000.0, it.getAverageSalary());
+        assertEquals(50000.0, it.getMinSalary());
+        assertEquals(60000.0, it.getMaxSalary());
+    }
+
+    @Test
+    void reconcileIfNotReady_LeavesTheScheduledReconciliationToRefresh() {
+        aggregator.reconcileIfNotReady();
+        verify(employeeRepository, times(1)).aggregateByDepartmentStatusAndSalary();
+
+        aggregator.reconcile();
+        verify(employeeRepository, times(2)).aggregateByDepartmentStatusAndSalary();
+    }
+
+    @Test
+    void onEmployeeChanged_MovesEmployeeBetweenDepartments() {
+        EmployeeDTO before = EmployeeDTO.builder().id(1L).department("IT").salary(60000.0).status("ACTIVE").build();
+        EmployeeDTO after = EmployeeDTO.builder().id(1L).department("Sales").salary(65000.0).status("ACTIVE").build();
+
+        aggregator.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, before, after));
+
+        List<DepartmentStatsDTO> stats = aggregator.snapshot();
+        assertEquals(1, stats.get(0).getActiveCount());
+        assertEquals(50000.0, stats.get(0).getTotalSalary());
+        assertEquals(2, stats.get(1).getActiveCount());
+        assertEquals(110000.0, stats.get(1).getTotalSalary());
+        assertEquals(65000.0, stats.get(1).getMaxSalary());
+    }
+
+    @Test
+    void onEmployeeChanged_CountsDeletedEmployeeAsInactive() {
+        EmployeeDTO before = EmployeeDTO.builder().id(2L).department("Sales").salary(45000.0).status("ACTIVE").build();
+        EmployeeDTO after = EmployeeDTO.builder().id(2L).department("Sales").salary(45000.0).status("INACTIVE").build();
+
+        aggregator.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.DELETED, before, after));
+
+        DepartmentStatsDTO sales = aggregator.snapshot().get(1);
+        assertEquals(0, sales.getActiveCount());
+        assertEquals(1, sales.getInactiveCount());
+        assertEquals(0.0, sales.getAverageSalary());
+    }
+
+    @Test
+    void onEmployeesArchived_RemovesArchivedEmployeesFromHeadcount() {
+        EmployeeDTO archived = EmployeeDTO.builder().id(3L).department("IT").salary(40000.0).status("INACTIVE").build();
+
+        aggregator.onEmployeesArchived(new EmployeesArchivedEvent(List.of(archived)));
+
+        DepartmentStatsDTO it = aggregator.snapshot().get(0);
+        assertEquals(2, it.getHeadcount());
+        assertEquals(2, it.getActiveCount());
+        assertEquals(0, it.getInactiveCount());
+        assertEquals(110000.0, it.getTotalSalary());
+    }
+
+    @Test
+    void onEmployeeChanged_NarrowsSalaryRangeWhenTheHighestEarnerLeaves() {
+        EmployeeDTO before = EmployeeDTO.builder().id(1L).department("IT").salary(60000.0).status("ACTIVE").build();
+        EmployeeDTO after = before.toBuilder().status("INACTIVE").build();
+
+        aggregator.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.DELETED, before, after));
+
+        DepartmentStatsDTO it = aggregator.snapshot().get(0);
+        assertEquals(50000.0, it.getMinSalary());
+        assertEquals(50000.0, it.getMaxSalary());
+    }
+
+    @Test
+    void reconcile_AppliesChangeCommittedAfterTheQueryOnce() {
+        EmployeeDTO before = EmployeeDTO.builder().id(1L).department("IT").salary(60000.0).status("ACTIVE").version(0L).build();
+        EmployeeDTO after = before.toBuilder().department("Sales").version(1L).build();
+        // the query result predates the change, whose event arrives while the query runs
+        when(employeeRepository.aggregateByDepartmentStatusAndSalary()).thenAnswer(invocation -> {
+            aggregator.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, before, after));
+            return ROWS;
+        });
+        when(employeeRepository.findDtosInOrder(List.of(1L))).thenReturn(List.of(before));
+
+        aggregator.reconcile();
+
+        assertMoved(aggregator.snapshot());
+    }
+
+    @Test
+    void reconcile_DoesNotCountChangeCommittedBeforeTheQueryTwice() {
+        EmployeeDTO before = EmployeeDTO.builder().id(1L).department("IT").salary(60000.0).status("ACTIVE").version(0L).build();
+        EmployeeDTO after = before.toBuilder().department("Sales").version(1L).build();
+        // the query result already has the change, whose event only arrives while the query runs
+        when(employeeRepository.aggregateByDepartmentStatusAndSalary()).thenAnswer(invocation -> {
+            aggregator.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, before, after));
+            return Arrays.asList(
+                    new DepartmentStatusAggregate("IT", "ACTIVE", 50000.0, 1L),
+                    new DepartmentStatusAggregate("IT", "INACTIVE", 40000.0, 1L),
+                    new DepartmentStatusAggregate("Sales", "ACTIVE", 45000.0, 1L),
+                    new DepartmentStatusAggregate("Sales", "ACTIVE", 60000.0, 1L));
+        });
+        when(employeeRepository.findDtosInOrder(List.of(1L))).thenReturn(List.of(after));
+
+        aggregator.reconcile();
+
+        assertMoved(aggregator.snapshot());
+    }
+
+    @Test
+    void reconcile_DropsEmployeeArchivedWhileTheQueryRuns() {
+        EmployeeDTO archived = EmployeeDTO.builder().id(3L).department("IT").salary(40000.0).status("INACTIVE").build();
+        when(employeeRepository.aggregateByDepartmentStatusAndSalary()).thenAnswer(invocation -> {
+            aggregator.onEmployeesArchived(new EmployeesArchivedEvent(List.of(archived)));
+            return ROWS;
+        });
+        when(employeeRepository.findDtosInOrder(List.of(3L))).thenReturn(List.of(archived));
+
+        aggregator.reconcile();
+
+        assertEquals(0, aggregator.snapshot().get(0).getInactiveCount());
+    }
+
+    private static void assertMoved(List<DepartmentStatsDTO> stats) {
+        DepartmentStatsDTO it = stats.get(0);
+        assertEquals(1, it.getActiveCount());
+        assertEquals(50000.0, it.getMaxSalary());
+        DepartmentStatsDTO sales = stats.get(1);
+        assertEquals(2, sales.getActiveCount());
+        assertEquals(105000.0, sales.getTotalSalary());
+        assertEquals(60000.0, sales.getMaxSalary());
+    }
+}